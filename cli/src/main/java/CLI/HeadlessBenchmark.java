@@ -0,0 +1,340 @@
+package CLI;
+
+import com.example.ticketing.core.InventorySettings;
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.TicketInventories;
+import com.example.ticketing.core.TicketInventory;
+import com.google.gson.*;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code HeadlessBenchmark} class runs the {@link TicketInventory} producer/consumer system
+ * without any interactive prompts and prints a machine-readable summary.
+ *
+ * <p>
+ * Settings are read from an optional JSON file (the same format as {@code config.json},
+ * extended with {@code producers}, {@code consumers}, {@code vipConsumers},
+ * {@code presaleConsumers}, {@code durationSeconds}, {@code paced}, {@code poolType} and
+ * {@code storeFile}) and can be overridden with command-line flags:
+ * <pre>
+ * java -jar cli/target/ticketing-cli-0.0.1-SNAPSHOT.jar --headless --config=bench.json \
+ *     --producers=4 --consumers=16 --vip-consumers=2 --presale-consumers=4 --duration=30 \
+ *     --tickets=100000 --unpaced --pool=linked --output=target/bench.json
+ * </pre>
+ * {@code --pool} selects the inventory implementation by provider name (see
+ * {@link TicketInventories}); {@code --store-file} is the file behind {@code --pool=mapped}.
+ * {@code --consumers} counts general customers; VIP and pre-sale customers are added on top.
+ * The run stops after {@code --duration} seconds or once {@code --tickets} tickets have
+ * been sold, whichever comes first. The summary is the only output on standard output, as a
+ * single JSON line containing throughput, wait counts and latency percentiles in microseconds, overall and
+ * per {@link PriorityTier}.
+ * </p>
+ *
+ * <p>
+ * Invalid flags, configuration values or inventory settings are reported as a single line on
+ * standard error, followed by the list of flags, and exit with status {@value #EXIT_USAGE};
+ * a run that fails, e.g. because the store file or the output cannot be written, exits with
+ * status {@value #EXIT_FAILURE}.
+ * </p>
+ *
+ * @see TicketingCLI
+ */
+public class HeadlessBenchmark {
+
+    /** Exit status for flags, configuration or inventory settings that cannot be used. */
+    static final int EXIT_USAGE = 2;
+
+    /** Exit status for a run that could not be completed or reported. */
+    static final int EXIT_FAILURE = 1;
+
+    /** Hard limit on a run that is only bounded by a ticket count. */
+    private static final int DEFAULT_TIMEOUT_SECONDS = 300;
+
+    private static final String USAGE = """
+            Usage: --headless [--config=FILE] [--producers=N] [--consumers=N] [--vip-consumers=N]
+                   [--presale-consumers=N] [--duration=SECONDS] [--tickets=N] [--release-rate=N]
+                   [--retrieval-rate=N] [--capacity=N] [--unpaced] [--pool=TYPE] [--store-file=FILE]
+                   [--output=FILE]""";
+
+    private int totalTickets = 0;
+    private int ticketReleaseRate = 10;
+    private int customerRetrievalRate = 10;
+    private int maxTicketCapacity = 50;
+    private int producers = 1;
+    private int consumers = 1;
+    private int vipConsumers = 0;
+    private int presaleConsumers = 0;
+    private int durationSeconds = 0;
+    private boolean paced = true;
+    private String poolType = TicketInventories.DEFAULT_TYPE;
+    private String storeFile;
+    private String output;
+
+    /**
+     * Configures, runs and reports a benchmark, turning invalid settings and failures into
+     * a message on {@code err} and an exit status instead of an exception.
+     *
+     * @param args the command-line flags
+     * @param out  the stream the summary is printed to
+     * @param err  the stream errors are printed to
+     * @return {@code 0} on success, {@value #EXIT_USAGE} for invalid settings or
+     *         {@value #EXIT_FAILURE} if the run or its output failed
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public static int execute(String[] args, PrintStream out, PrintStream err) throws InterruptedException {
+        try {
+            HeadlessBenchmark benchmark = fromArgs(args);
+            benchmark.report(benchmark.run(), out);
+            return 0;
+        } catch (IllegalArgumentException e) {
+            err.println("Invalid benchmark settings: " + e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        } catch (IOException | UncheckedIOException e) {
+            err.println("Benchmark failed: " + e.getMessage());
+            return EXIT_FAILURE;
+        }
+    }
+
+    /**
+     * Builds a benchmark from command-line flags, loading {@code --config} first if given.
+     *
+     * @param args the command-line flags; {@code --headless} itself is ignored
+     * @return the configured benchmark
+     * @throws IOException if the configuration file cannot be read
+     * @throws IllegalArgumentException if a flag is unknown, the configuration file is missing or
+     *                                  malformed, or a flag or configuration value is not a number
+     *                                  in its range
+     */
+    public static HeadlessBenchmark fromArgs(String[] args) throws IOException {
+        HeadlessBenchmark benchmark = new HeadlessBenchmark();
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                benchmark.loadConfiguration(Path.of(arg.substring("--config=".length())));
+            }
+        }
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            String value = option.length > 1 ? option[1] : "";
+            switch (option[0]) {
+                case "headless", "config" -> { }
+                case "producers" -> benchmark.producers = positive(option[0], value);
+                case "consumers" -> benchmark.consumers = positive(option[0], value);
+                case "vip-consumers" -> benchmark.vipConsumers = nonNegative(option[0], value);
+                case "presale-consumers" -> benchmark.presaleConsumers = nonNegative(option[0], value);
+                case "duration" -> benchmark.durationSeconds = positive(option[0], value);
+                case "tickets" -> benchmark.totalTickets = positive(option[0], value);
+                case "release-rate" -> benchmark.ticketReleaseRate = positive(option[0], value);
+                case "retrieval-rate" -> benchmark.customerRetrievalRate = positive(option[0], value);
+                case "capacity" -> benchmark.maxTicketCapacity = positive(option[0], value);
+                case "unpaced" -> benchmark.paced = false;
+                case "pool" -> benchmark.poolType = value;
+                case "store-file" -> benchmark.storeFile = value;
+                case "output" -> benchmark.output = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return benchmark;
+    }
+
+    private void loadConfiguration(Path file) throws IOException {
+        JsonObject config;
+        try {
+            config = JsonParser.parseString(Files.readString(file)).getAsJsonObject();
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Configuration file " + file + " does not exist.");
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IllegalArgumentException("Configuration file " + file + " is not a JSON object.");
+        }
+        totalTickets = positiveOrDefault(config, "totalTickets", totalTickets);
+        ticketReleaseRate = positiveOrDefault(config, "ticketReleaseRate", ticketReleaseRate);
+        customerRetrievalRate = positiveOrDefault(config, "customerRetrievalRate", customerRetrievalRate);
+        maxTicketCapacity = positiveOrDefault(config, "maxTicketCapacity", maxTicketCapacity);
+        producers = positiveOrDefault(config, "producers", producers);
+        consumers = positiveOrDefault(config, "consumers", consumers);
+        vipConsumers = nonNegativeOrDefault(config, "vipConsumers", vipConsumers);
+        presaleConsumers = nonNegativeOrDefault(config, "presaleConsumers", presaleConsumers);
+        durationSeconds = positiveOrDefault(config, "durationSeconds", durationSeconds);
+        if (config.has("paced")) {
+            paced = config.get("paced").getAsBoolean();
+        }
+        if (config.has("poolType")) {
+            poolType = config.get("poolType").getAsString();
+        }
+        if (config.has("storeFile")) {
+            storeFile = config.get("storeFile").getAsString();
+        }
+    }
+
+    /**
+     * Runs the benchmark until its duration elapses or its ticket count is sold,
+     * then stops all threads and returns the summary.
+     *
+     * @return the summary as a JSON object
+     * @throws InterruptedException if the calling thread is interrupted
+     * @throws IllegalArgumentException if the pool type is unknown or its settings are invalid
+     */
+    public JsonObject run() throws InterruptedException {
+        InventorySettings settings = new InventorySettings(maxTicketCapacity, totalTickets,
+                storeFile != null ? Path.of(storeFile) : null, false);
+        try (TicketInventory ticketPool = TicketInventories.create(poolType, settings)) {
+            return run(ticketPool);
+        }
+    }
+
+    private JsonObject run(TicketInventory ticketPool) throws InterruptedException {
+        Histogram additionLatency = new ConcurrentHistogram(3);
+        Map<PriorityTier, Histogram> retrievalLatency = new EnumMap<>(PriorityTier.class);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            threads.add(new Thread(new TicketProducer(ticketPool, ticketReleaseRate, paced, additionLatency),
+                    "producer-" + i));
+        }
+        for (PriorityTier tier : PriorityTier.values()) {
+            int count = consumerCount(tier);
+            if (count > 0) {
+                retrievalLatency.put(tier, new ConcurrentHistogram(3));
+            }
+            for (int i = 0; i < count; i++) {
+                threads.add(new Thread(new TicketConsumer(ticketPool, customerRetrievalRate, tier, paced,
+                        retrievalLatency.get(tier)), tier.name().toLowerCase() + "-consumer-" + i));
+            }
+        }
+
+        long limitNanos = TimeUnit.SECONDS.toNanos(durationSeconds > 0 ? durationSeconds
+                : totalTickets > 0 ? DEFAULT_TIMEOUT_SECONDS : 10);
+        long started = System.nanoTime();
+        threads.forEach(Thread::start);
+        while (System.nanoTime() - started < limitNanos
+                && (totalTickets == 0 || ticketPool.getTicketsSold() < totalTickets)) {
+            Thread.sleep(10);
+        }
+        long elapsed = System.nanoTime() - started;
+
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return summarize(ticketPool, elapsed / 1e9, additionLatency, retrievalLatency);
+    }
+
+    private int consumerCount(PriorityTier tier) {
+        return switch (tier) {
+            case VIP -> vipConsumers;
+            case PRESALE -> presaleConsumers;
+            case GENERAL -> consumers;
+        };
+    }
+
+    private JsonObject summarize(TicketInventory ticketPool, double elapsedSeconds,
+                                 Histogram additionLatency, Map<PriorityTier, Histogram> retrievalLatency) {
+        JsonObject config = new JsonObject();
+        config.addProperty("producers", producers);
+        config.addProperty("consumers", consumers);
+        config.addProperty("vipConsumers", vipConsumers);
+        config.addProperty("presaleConsumers", presaleConsumers);
+        config.addProperty("ticketReleaseRate", ticketReleaseRate);
+        config.addProperty("customerRetrievalRate", customerRetrievalRate);
+        config.addProperty("maxTicketCapacity", maxTicketCapacity);
+        config.addProperty("totalTickets", totalTickets);
+        config.addProperty("durationSeconds", durationSeconds);
+        config.addProperty("paced", paced);
+        config.addProperty("poolType", poolType);
+
+        JsonObject summary = new JsonObject();
+        summary.add("config", config);
+        summary.addProperty("elapsedSeconds", elapsedSeconds);
+        summary.addProperty("ticketsAdded", ticketPool.getTicketsAdded());
+        summary.addProperty("ticketsSold", ticketPool.getTicketsSold());
+        summary.addProperty("addThroughputPerSecond", ticketPool.getTicketsAdded() / elapsedSeconds);
+        summary.addProperty("sellThroughputPerSecond", ticketPool.getTicketsSold() / elapsedSeconds);
+        summary.addProperty("producerWaits", ticketPool.getProducerWaits());
+        summary.addProperty("consumerWaits", ticketPool.getConsumerWaits());
+        summary.add("addLatencyMicros", percentiles(additionLatency));
+        Histogram allRetrievals = new Histogram(3);
+        JsonObject tiers = new JsonObject();
+        retrievalLatency.forEach((tier, histogram) -> {
+            allRetrievals.add(histogram);
+            JsonObject tierSummary = new JsonObject();
+            tierSummary.addProperty("consumers", consumerCount(tier));
+            tierSummary.addProperty("ticketsSold", ticketPool.getTicketsSold(tier));
+            tierSummary.add("retrieveLatencyMicros", percentiles(histogram));
+            tiers.add(tier.name(), tierSummary);
+        });
+        summary.add("retrieveLatencyMicros", percentiles(allRetrievals));
+        summary.add("tiers", tiers);
+        return summary;
+    }
+
+    /**
+     * Prints the summary as one line of JSON and writes it to {@code --output} if given.
+     *
+     * @param summary the summary returned by {@link #run()}
+     * @param out     the stream to print to
+     * @throws IOException if the output file cannot be written
+     */
+    public void report(JsonObject summary, PrintStream out) throws IOException {
+        String json = new Gson().toJson(summary);
+        out.println(json);
+        if (output != null) {
+            Path file = Path.of(output);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, json + System.lineSeparator());
+        }
+    }
+
+    private static JsonObject percentiles(Histogram histogram) {
+        JsonObject percentiles = new JsonObject();
+        percentiles.addProperty("count", histogram.getTotalCount());
+        percentiles.addProperty("p50", histogram.getValueAtPercentile(50));
+        percentiles.addProperty("p90", histogram.getValueAtPercentile(90));
+        percentiles.addProperty("p99", histogram.getValueAtPercentile(99));
+        percentiles.addProperty("p999", histogram.getValueAtPercentile(99.9));
+        percentiles.addProperty("max", histogram.getMaxValue());
+        return percentiles;
+    }
+
+    private static int positiveOrDefault(JsonObject config, String name, int defaultValue) {
+        return config.has(name) ? positive(name, config.get(name).getAsString()) : defaultValue;
+    }
+
+    private static int nonNegativeOrDefault(JsonObject config, String name, int defaultValue) {
+        return config.has(name) ? nonNegative(name, config.get(name).getAsString()) : defaultValue;
+    }
+
+    private static int nonNegative(String name, String value) {
+        int parsed = parse(name, value);
+        if (parsed < 0) {
+            throw new IllegalArgumentException(name + " must not be negative.");
+        }
+        return parsed;
+    }
+
+    private static int positive(String name, String value) {
+        int parsed = parse(name, value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(name + " must be a positive number.");
+        }
+        return parsed;
+    }
+
+    private static int parse(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number, but was '" + value + "'.");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package CLI;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.pool.TicketAllocator;
+import com.example.ticketing.core.pool.TicketPool;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@code SimulatedTicketPool} class runs the allocation rules of {@link TicketPool} on
+ * the virtual clock of a {@link SimulationEngine}.
+ *
+ * <p>
+ * Both share one {@link TicketAllocator}, so producers are served in arrival order and
+ * consumers by start-time fair queueing across their {@link PriorityTier}s, exactly as in the
+ * real pool. Where {@code TicketPool} parks a thread, an operation that cannot proceed here
+ * parks a continuation instead. When a later operation serves it, the continuation resumes at
+ * the current virtual instant and the consumer's pending timeout is cancelled.
+ * </p>
+ *
+ * @see TicketPool
+ * @see TicketSimulation
+ */
+class SimulatedTicketPool {
+
+    /** A parked consumer and the timeout that gives up on its request. */
+    private static final class ParkedConsumer {
+        private final long sinceMillis;
+        private SimulationEngine.ScheduledEvent timeout;
+
+        private ParkedConsumer(long sinceMillis) {
+            this.sinceMillis = sinceMillis;
+        }
+    }
+
+    private final SimulationEngine engine;
+    private final TicketAllocator allocator;
+
+    private int lastTickets = 0;
+    private int peakTickets = 0;
+    private long lastChangeMillis = 0;
+    private double occupancyIntegral = 0;
+
+    private long producerWaitMillis = 0;
+    private long consumerWaitMillis = 0;
+
+    /**
+     * Constructs a {@code SimulatedTicketPool}.
+     *
+     * @param engine            the engine providing the virtual clock
+     * @param maxTicketCapacity the maximum number of tickets the pool can hold
+     */
+    SimulatedTicketPool(SimulationEngine engine, int maxTicketCapacity) {
+        this.engine = engine;
+        this.allocator = new TicketAllocator(maxTicketCapacity, false);
+    }
+
+    /**
+     * Adds tickets if they fit, mirroring {@link TicketPool#addTicket(int)}.
+     *
+     * @param ticketCount the number of tickets to add
+     * @param resume      the continuation to run once a parked producer's tickets were added
+     * @return {@code true} if the tickets were added, {@code false} if the producer was parked
+     * @throws IllegalArgumentException if {@code ticketCount} exceeds the pool's capacity
+     */
+    boolean addTicket(int ticketCount, Runnable resume) {
+        boolean added = allocator.tryAdd(ticketCount);
+        if (!added) {
+            long since = engine.now();
+            allocator.queueProducer(ticketCount, () -> {
+                producerWaitMillis += engine.now() - since;
+                engine.schedule(0, resume);
+            });
+        }
+        sample();
+        return added;
+    }
+
+    /**
+     * Retrieves tickets if enough are available, mirroring
+     * {@link TicketPool#tryRetrieveUpTo(int, PriorityTier, long, java.util.concurrent.TimeUnit)}.
+     *
+     * <p>
+     * If the consumer is parked, exactly one of {@code resume} and {@code onTimeout} runs later:
+     * {@code resume} once the tickets were handed over, or {@code onTimeout} once
+     * {@code timeoutMillis} of virtual time have passed. A consumer that times out while it is
+     * the next one due first takes whatever tickets are available.
+     * </p>
+     *
+     * @param ticketCount   the number of tickets to retrieve
+     * @param tier          the customer's priority tier
+     * @param timeoutMillis the maximum virtual time to wait
+     * @param resume        the continuation to run once a parked consumer's tickets were retrieved
+     * @param onTimeout     the continuation to run if the timeout elapses first
+     * @return {@code true} if the tickets were retrieved, {@code false} if the consumer was parked
+     * @throws IllegalArgumentException if {@code ticketCount} exceeds the pool's capacity
+     */
+    boolean tryRetrieveUpTo(int ticketCount, PriorityTier tier, long timeoutMillis,
+                            Runnable resume, Runnable onTimeout) {
+        if (allocator.tryRetrieve(ticketCount, tier)) {
+            sample();
+            return true;
+        }
+        ParkedConsumer parked = new ParkedConsumer(engine.now());
+        TicketAllocator.Request request = allocator.queueConsumer(ticketCount, tier, () -> {
+            if (parked.timeout != null) {
+                engine.cancel(parked.timeout);
+            }
+            consumerWaitMillis += engine.now() - parked.sinceMillis;
+            engine.schedule(0, resume);
+        });
+        if (!request.isDone()) {
+            parked.timeout = engine.schedule(Math.max(0, timeoutMillis), () -> {
+                allocator.cancel(request, true);
+                consumerWaitMillis += engine.now() - parked.sinceMillis;
+                sample();
+                onTimeout.run();
+            });
+        }
+        sample();
+        return false;
+    }
+
+    /**
+     * Returns the maximum number of tickets the pool can hold.
+     *
+     * @return the maximum ticket capacity
+     */
+    int maxTicketCapacity() {
+        return allocator.getMaxTicketCapacity();
+    }
+
+    /**
+     * Returns the number of tickets released into the pool so far.
+     *
+     * @return the released ticket count
+     */
+    long ticketsReleased() {
+        return allocator.getTicketsAdded();
+    }
+
+    /**
+     * Returns the number of tickets sold to customers of the given tier so far.
+     *
+     * @param tier the priority tier
+     * @return the tickets sold to that tier
+     */
+    long ticketsSold(PriorityTier tier) {
+        return allocator.getTicketsSold(tier);
+    }
+
+    /**
+     * Records the pool level after an operation. The level only changes inside allocator
+     * calls, all of which happen at the current virtual instant, so sampling after each one
+     * keeps the time-weighted mean exact.
+     */
+    private void sample() {
+        long now = engine.now();
+        occupancyIntegral += (double) lastTickets * (now - lastChangeMillis);
+        lastChangeMillis = now;
+        lastTickets = allocator.getAvailableTickets();
+        peakTickets = Math.max(peakTickets, lastTickets);
+    }
+
+    /**
+     * Captures the pool statistics at the current virtual time.
+     *
+     * @param wallClockMillis the real time the simulation took
+     * @return a report of the run so far
+     */
+    SimulationReport report(long wallClockMillis) {
+        long now = engine.now();
+        double integral = occupancyIntegral + (double) lastTickets * (now - lastChangeMillis);
+        Map<PriorityTier, Long> ticketsSoldByTier = new EnumMap<>(PriorityTier.class);
+        for (PriorityTier tier : PriorityTier.values()) {
+            ticketsSoldByTier.put(tier, allocator.getTicketsSold(tier));
+        }
+        return new SimulationReport(
+                now, wallClockMillis, engine.processedEvents(),
+                allocator.getTicketsAdded(), allocator.getTicketsSold(), ticketsSoldByTier,
+                allocator.getAvailableTickets(), peakTickets,
+                now > 0 ? integral / now : allocator.getAvailableTickets(),
+                allocator.getProducerWaits(), allocator.getConsumerWaits(), producerWaitMillis, consumerWaitMillis,
+                allocator.getQueuedProducers(), allocator.getQueuedConsumers());
+    }
+}
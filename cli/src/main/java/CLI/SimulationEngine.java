@@ -0,0 +1,110 @@
+package CLI;
+
+import java.util.TreeSet;
+
+/**
+ * The {@code SimulationEngine} class is a single-threaded discrete-event scheduler
+ * driven by a virtual clock.
+ *
+ * <p>
+ * Actions are kept in a sorted set ordered by their virtual due time. Running the
+ * engine repeatedly removes the earliest action, advances the clock to its due time and
+ * executes it. No real time passes between events, so hours of simulated activity complete
+ * as fast as the actions themselves can run. A scheduled action that is no longer needed,
+ * such as the timeout of a customer who has been served, is cancelled and removed from the
+ * set rather than left to run as a no-op.
+ * </p>
+ *
+ * <p>
+ * Actions due at the same instant run in the order they were scheduled, which keeps
+ * every run fully deterministic.
+ * </p>
+ *
+ * @see TicketSimulation
+ */
+class SimulationEngine {
+
+    /** An action waiting in the event queue; returned by {@link #schedule} so it can be cancelled. */
+    record ScheduledEvent(long dueMillis, long sequence, Runnable action)
+            implements Comparable<ScheduledEvent> {
+        @Override
+        public int compareTo(ScheduledEvent other) {
+            int byTime = Long.compare(dueMillis, other.dueMillis);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final TreeSet<ScheduledEvent> events = new TreeSet<>();
+    private long nowMillis = 0;
+    private long nextSequence = 0;
+    private long processedEvents = 0;
+
+    /**
+     * Returns the current virtual time.
+     *
+     * @return milliseconds since the start of the simulation
+     */
+    long now() {
+        return nowMillis;
+    }
+
+    /**
+     * Returns the number of events executed so far.
+     *
+     * @return the processed event count
+     */
+    long processedEvents() {
+        return processedEvents;
+    }
+
+    /**
+     * Schedules an action to run after the given virtual delay.
+     *
+     * @param delayMillis the delay in virtual milliseconds; must not be negative
+     * @param action      the action to run
+     * @return the scheduled event, which can be passed to {@link #cancel(ScheduledEvent)}
+     */
+    ScheduledEvent schedule(long delayMillis, Runnable action) {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("Delay must not be negative.");
+        }
+        ScheduledEvent event = new ScheduledEvent(nowMillis + delayMillis, nextSequence++, action);
+        events.add(event);
+        return event;
+    }
+
+    /**
+     * Removes a scheduled event so that it never runs.
+     *
+     * @param event the event returned by {@link #schedule(long, Runnable)}
+     * @return {@code true} if the event was still pending
+     */
+    boolean cancel(ScheduledEvent event) {
+        return events.remove(event);
+    }
+
+    /**
+     * Returns the number of events still waiting to run.
+     *
+     * @return the pending event count
+     */
+    int pendingEvents() {
+        return events.size();
+    }
+
+    /**
+     * Executes events in time order until the queue is empty or the next event
+     * is due after {@code endMillis}. The clock is left at {@code endMillis}.
+     *
+     * @param endMillis the virtual time at which the simulation stops
+     */
+    void runUntil(long endMillis) {
+        while (!events.isEmpty() && events.first().dueMillis() <= endMillis) {
+            ScheduledEvent event = events.pollFirst();
+            nowMillis = event.dueMillis();
+            processedEvents++;
+            event.action().run();
+        }
+        nowMillis = endMillis;
+    }
+}
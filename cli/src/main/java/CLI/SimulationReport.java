@@ -0,0 +1,57 @@
+package CLI;
+
+import com.example.ticketing.core.PriorityTier;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+/**
+ * The {@code SimulationReport} record summarises a {@link TicketSimulation} run.
+ *
+ * @param simulatedMillis       the virtual time covered by the run
+ * @param wallClockMillis       the real time the run took
+ * @param events                the number of discrete events executed
+ * @param ticketsReleased       tickets added to the pool by producers
+ * @param ticketsSold           tickets retrieved from the pool by consumers
+ * @param ticketsSoldByTier     tickets retrieved by the consumers of each tier
+ * @param finalTickets          tickets left in the pool at the end
+ * @param peakTickets           the largest number of tickets held at any instant
+ * @param meanTickets           the time-weighted average number of tickets held
+ * @param producerWaits         how often a producer found the pool full
+ * @param consumerWaits         how often a consumer found too few tickets
+ * @param producerWaitMillis    total virtual time producers spent parked
+ * @param consumerWaitMillis    total virtual time consumers spent parked
+ * @param stalledProducers      producers still parked at the end
+ * @param stalledConsumers      consumers still parked at the end
+ */
+record SimulationReport(long simulatedMillis, long wallClockMillis, long events,
+                        long ticketsReleased, long ticketsSold, Map<PriorityTier, Long> ticketsSoldByTier,
+                        int finalTickets, int peakTickets,
+                        double meanTickets, long producerWaits, long consumerWaits,
+                        long producerWaitMillis, long consumerWaitMillis,
+                        int stalledProducers, int stalledConsumers) {
+
+    /**
+     * Prints the report in a human-readable form.
+     *
+     * @param out the stream to print to
+     */
+    void print(PrintStream out) {
+        double simulatedSeconds = simulatedMillis / 1000.0;
+        out.println("==== Simulation report ====");
+        out.printf("Simulated time     : %.1f s (in %d ms wall clock, %d events)%n",
+                simulatedSeconds, wallClockMillis, events);
+        out.printf("Tickets released   : %d (%.2f/s)%n", ticketsReleased, ticketsReleased / simulatedSeconds);
+        out.printf("Tickets sold       : %d (%.2f/s)%n", ticketsSold, ticketsSold / simulatedSeconds);
+        ticketsSoldByTier.forEach((tier, sold) ->
+                out.printf("  %-17s: %d (%.2f/s)%n", tier, sold, sold / simulatedSeconds));
+        out.printf("Pool level         : final %d, peak %d, mean %.1f%n", finalTickets, peakTickets, meanTickets);
+        out.printf("Producer waits     : %d (mean %.1f ms)%n", producerWaits, mean(producerWaitMillis, producerWaits));
+        out.printf("Consumer waits     : %d (mean %.1f ms)%n", consumerWaits, mean(consumerWaitMillis, consumerWaits));
+        out.printf("Still parked       : %d producers, %d consumers%n", stalledProducers, stalledConsumers);
+    }
+
+    private static double mean(long total, long count) {
+        return count == 0 ? 0.0 : (double) total / count;
+    }
+}
@@ -0,0 +1,117 @@
+package CLI;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.TicketInventory;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TicketConsumer} class represents a consumer that retrieves tickets
+ * from the {@link TicketInventory} at a specified customer retrieval rate.
+ *
+ * <p>
+ * This class implements the {@link Runnable} interface to support concurrent execution.
+ * Consumers simulate customers purchasing tickets at a fixed rate and run in a loop
+ * to retrieve tickets every few seconds.
+ * </p>
+ *
+ * <p>
+ * The consumer periodically retrieves tickets from the shared {@code TicketInventory},
+ * respecting the configured retrieval rate. If the thread is interrupted,
+ * it will gracefully terminate.
+ * </p>
+ *
+ * @see TicketInventory
+ * @see Runnable
+ */
+class TicketConsumer implements Runnable {
+    /** The pause between two purchase cycles, shared with {@link TicketSimulation}. */
+    static final long PURCHASE_INTERVAL_MILLIS = 3000;
+
+    private final TicketInventory ticketPool;
+    private final int customerRetrievalRate;
+    private final PriorityTier tier;
+    private final boolean paced;
+    private final Histogram retrievalLatency;
+
+    /**
+     * Constructs a {@code TicketConsumer} instance with a reference to the shared
+     * {@link TicketInventory} and a specified customer retrieval rate.
+     *
+     * @param ticketPool           The shared {@link TicketInventory} from which tickets are retrieved.
+     * @param customerRetrievalRate The rate at which tickets are retrieved (number of tickets per interval).
+     */
+    public TicketConsumer(TicketInventory ticketPool, int customerRetrievalRate) {
+        this(ticketPool, customerRetrievalRate, PriorityTier.GENERAL, true, null);
+    }
+
+    /**
+     * Constructs a {@code TicketConsumer} for a customer of the given priority tier.
+     *
+     * @param ticketPool            The shared {@link TicketInventory} from which tickets are retrieved.
+     * @param customerRetrievalRate The rate at which tickets are retrieved (number of tickets per interval).
+     * @param tier                  The customer's priority tier.
+     */
+    public TicketConsumer(TicketInventory ticketPool, int customerRetrievalRate, PriorityTier tier) {
+        this(ticketPool, customerRetrievalRate, tier, true, null);
+    }
+
+    /**
+     * Constructs a {@code TicketConsumer} for benchmark runs.
+     *
+     * @param ticketPool            The shared {@link TicketInventory} from which tickets are retrieved.
+     * @param customerRetrievalRate The rate at which tickets are retrieved (number of tickets per interval).
+     * @param tier                  The customer's priority tier.
+     * @param paced                 {@code false} to skip the pause between purchase cycles.
+     * @param retrievalLatency      A histogram that receives the latency of each retrieval in microseconds,
+     *                              or {@code null}.
+     */
+    TicketConsumer(TicketInventory ticketPool, int customerRetrievalRate, PriorityTier tier, boolean paced,
+                   Histogram retrievalLatency) {
+        this.ticketPool = ticketPool;
+        this.customerRetrievalRate = customerRetrievalRate;
+        this.tier = tier;
+        this.paced = paced;
+        this.retrievalLatency = retrievalLatency;
+    }
+
+    /**
+     * Starts the ticket consumer's execution loop.
+     *
+     * <p>
+     * The consumer attempts to retrieve a specified number of tickets
+     * (equal to {@code customerRetrievalRate}) from the shared {@code TicketInventory}
+     * every 3 seconds. This simulates a continuous customer ticket retrieval process.
+     * The tickets are retrieved as one batch; if the pool cannot supply the full batch
+     * within one cycle, the consumer takes whatever is available from its own place in the
+     * tier-fair queue and moves on.
+     * </p>
+     *
+     * <p>
+     * The loop continues indefinitely until the thread is interrupted. Upon interruption,
+     * the method ensures that the thread terminates cleanly.
+     * </p>
+     */
+    public void run() {
+        int batchSize = Math.min(customerRetrievalRate, ticketPool.getMaxTicketCapacity());
+        try {
+            while (true) {
+                long started = System.nanoTime();
+                // Buy the whole cycle's tickets in one batch; if they do not show up before
+                // the next cycle, take what is there instead of blocking the pool forever
+                ticketPool.tryRetrieveUpTo(batchSize, tier, PURCHASE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (retrievalLatency != null) {
+                    retrievalLatency.recordValue((System.nanoTime() - started) / 1000);
+                }
+                if (paced) {
+                    Thread.sleep(PURCHASE_INTERVAL_MILLIS); // Try to purchase tickets every 3 seconds
+                } else if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package CLI;
+
+import com.example.ticketing.core.TicketInventory;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TicketProducer} class represents a producer in the producer-consumer pattern
+ * that generates tickets at a specified release rate and adds them to the {@link TicketInventory}.
+ * This class implements the {@link Runnable} interface to allow concurrent execution.
+ */
+class TicketProducer implements Runnable {
+
+    /** The shared {@link TicketInventory} where tickets are added. */
+    private final TicketInventory ticketPool;
+
+    /** The number of tickets released per cycle; the pause between cycles sets the rate. */
+    static final int TICKETS_PER_RELEASE = 1;
+
+    /** The rate at which tickets are released (tickets per second). */
+    private final int ticketReleaseRate;
+
+    /** Whether the producer sleeps between releases; benchmarks may turn this off. */
+    private final boolean paced;
+
+    /** Optional histogram receiving the latency of each add in microseconds. */
+    private final Histogram additionLatency;
+
+    /**
+     * Returns the time between two releases for the given release rate. Kept in nanoseconds
+     * so rates that do not divide a second evenly, or exceed 1000 per second, are not rounded.
+     * Shared with {@link TicketSimulation} so simulated producers pace exactly like real ones.
+     *
+     * @param ticketReleaseRate the rate at which tickets are released (tickets per second).
+     * @return the time between releases in nanoseconds.
+     */
+    static long releaseIntervalNanos(int ticketReleaseRate) {
+        return TimeUnit.SECONDS.toNanos(1) / ticketReleaseRate;
+    }
+
+    /**
+     * Returns the deadline of the next release. Releases are due one interval after the
+     * previous deadline rather than after the previous add, so the time an add takes does
+     * not slow the rate down. A producer that was blocked past that point releases straight
+     * away and continues from there, rather than catching up with a burst.
+     *
+     * @param deadline      the deadline of the release that just completed, in nanoseconds.
+     * @param intervalNanos the time between releases in nanoseconds.
+     * @param now           the current time in nanoseconds.
+     * @return the deadline of the next release in nanoseconds.
+     */
+    static long nextDeadline(long deadline, long intervalNanos, long now) {
+        return Math.max(deadline + intervalNanos, now);
+    }
+
+    /**
+     * Constructs a {@code TicketProducer} with the specified {@code TicketInventory} and release rate.
+     *
+     * @param ticketPool        The shared ticket pool to which tickets will be added.
+     * @param ticketReleaseRate The rate at which tickets are released (must be greater than zero).
+     * @throws IllegalArgumentException if {@code ticketReleaseRate} is less than or equal to zero.
+     */
+    public TicketProducer(TicketInventory ticketPool, int ticketReleaseRate) {
+        this(ticketPool, ticketReleaseRate, true, null);
+    }
+
+    /**
+     * Constructs a {@code TicketProducer} for benchmark runs.
+     *
+     * @param ticketPool        The shared ticket pool to which tickets will be added.
+     * @param ticketReleaseRate The rate at which tickets are released (must be greater than zero).
+     * @param paced             {@code false} to add tickets back to back without sleeping.
+     * @param additionLatency   A histogram that receives the latency of each add in microseconds, or {@code null}.
+     * @throws IllegalArgumentException if {@code ticketReleaseRate} is less than or equal to zero.
+     */
+    TicketProducer(TicketInventory ticketPool, int ticketReleaseRate, boolean paced, Histogram additionLatency) {
+        if (ticketReleaseRate <= 0) {
+            throw new IllegalArgumentException("Ticket release rate must be greater than zero.");
+        }
+        this.ticketPool = ticketPool;
+        this.ticketReleaseRate = ticketReleaseRate;
+        this.paced = paced;
+        this.additionLatency = additionLatency;
+    }
+
+    /**
+     * The run method that continuously produces tickets and adds them to the ticket pool.
+     * Between releases the producer sleeps until the next deadline given by
+     * {@link #nextDeadline(long, long, long)} to regulate the speed of ticket production.
+     *
+     * <p>
+     * If the thread is interrupted, the production stops, and a message is logged to standard
+     * error to indicate the interruption, keeping standard output free for benchmark results. In case of other exceptions, the production terminates with an error message.
+     * </p>
+     */
+    public void run() {
+        long intervalNanos = releaseIntervalNanos(ticketReleaseRate);
+        long deadline = System.nanoTime();
+        while (true) {
+            try {
+                long started = System.nanoTime();
+                ticketPool.addTicket(TICKETS_PER_RELEASE); // Add a ticket to the pool
+                long added = System.nanoTime();
+                if (additionLatency != null) {
+                    additionLatency.recordValue((added - started) / 1000);
+                }
+                if (paced) {
+                    deadline = nextDeadline(deadline, intervalNanos, added);
+                    TimeUnit.NANOSECONDS.sleep(deadline - added); // Sleep to control ticket release rate
+                } else if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();// Restore interrupt status
+                System.err.println("Producer thread interrupted. Exiting ticket production.");
+                break;// Exit the loop on interruption
+            } catch (Exception e) {
+                System.err.println("Error during ticket production: " + e.getMessage());
+                break;// Exit on any other exception
+
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package CLI;
+
+import com.example.ticketing.core.PriorityTier;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TicketSimulation} class replays vendor and customer activity against a
+ * {@link SimulatedTicketPool} on a virtual clock.
+ *
+ * <p>
+ * Simulated producers and consumers follow the same loop as {@link TicketProducer} and
+ * {@link TicketConsumer}, and pace themselves with the same intervals, but their sleeps
+ * are events in a {@link SimulationEngine} rather than real {@code Thread.sleep} calls.
+ * Producers keep their release deadlines in nanoseconds, as real ones do, and each release
+ * happens at the first virtual millisecond not before its deadline, so the simulated rate
+ * does not drift when a second does not divide evenly by it.
+ * The pool allocates tickets with the same rules as the real one, including the fair share
+ * between customer tiers, so the per-tier results carry over to a live on-sale.
+ * A two-hour on-sale with thousands of actors therefore completes in seconds, which makes
+ * the simulation suitable for capacity planning of {@code maxTicketCapacity} and rates.
+ * </p>
+ *
+ * <p>
+ * All randomness (start offsets and pacing jitter) comes from a single
+ * seeded generator, so a run is reproducible from its seed. Example:
+ * <pre>
+ * java -cp cli/target/ticketing-cli-0.0.1-SNAPSHOT.jar CLI.TicketSimulation --hours=2 \
+ *     --producers=50 --consumers=2000 --vip-consumers=100 --presale-consumers=300 \
+ *     --release-rate=10 --retrieval-rate=2 --capacity=500 --jitter=0.1 --seed=7
+ * </pre>
+ * {@code --consumers} counts general customers; VIP and pre-sale customers are added on top,
+ * as in {@link HeadlessBenchmark}.
+ * </p>
+ *
+ * @see SimulationEngine
+ * @see SimulatedTicketPool
+ */
+public class TicketSimulation {
+    private final int producers;
+    private final Map<PriorityTier, Integer> consumers = new EnumMap<>(PriorityTier.class);
+    private final int ticketReleaseRate;
+    private final int customerRetrievalRate;
+    private final long totalTickets;
+    private final double jitter;
+    private final SplittableRandom random;
+    private final SimulationEngine engine = new SimulationEngine();
+    private final SimulatedTicketPool pool;
+
+    /**
+     * Constructs a {@code TicketSimulation}.
+     *
+     * @param producers             the number of simulated vendors
+     * @param consumers             the number of simulated general customers
+     * @param vipConsumers          the number of simulated VIP customers
+     * @param presaleConsumers      the number of simulated pre-sale customers
+     * @param ticketReleaseRate     the release rate of each vendor
+     * @param customerRetrievalRate the retrieval rate of each customer
+     * @param maxTicketCapacity     the maximum number of tickets the pool can hold
+     * @param totalTickets          the number of tickets vendors stop after, or {@code 0} for no limit
+     * @param jitter                the maximum relative deviation applied to each pause, e.g. {@code 0.1}
+     * @param seed                  the seed for all random decisions
+     * @throws IllegalArgumentException if a rate, the capacity, the producer count or the total
+     *                                  consumer count is not positive, or a consumer count is negative
+     */
+    public TicketSimulation(int producers, int consumers, int vipConsumers, int presaleConsumers,
+                            int ticketReleaseRate, int customerRetrievalRate,
+                            int maxTicketCapacity, long totalTickets, double jitter, long seed) {
+        if (producers <= 0 || consumers < 0 || vipConsumers < 0 || presaleConsumers < 0
+                || consumers + vipConsumers + presaleConsumers <= 0
+                || ticketReleaseRate <= 0 || customerRetrievalRate <= 0 || maxTicketCapacity <= 0) {
+            throw new IllegalArgumentException("Actor counts, rates and capacity must be greater than zero.");
+        }
+        this.producers = producers;
+        this.consumers.put(PriorityTier.VIP, vipConsumers);
+        this.consumers.put(PriorityTier.PRESALE, presaleConsumers);
+        this.consumers.put(PriorityTier.GENERAL, consumers);
+        this.ticketReleaseRate = ticketReleaseRate;
+        this.customerRetrievalRate = customerRetrievalRate;
+        this.totalTickets = totalTickets;
+        this.jitter = jitter;
+        this.random = new SplittableRandom(seed);
+        this.pool = new SimulatedTicketPool(engine, maxTicketCapacity);
+    }
+
+    /**
+     * Entry point of the simulation. Options are given as {@code --name=value}.
+     *
+     * @param args command-line options
+     */
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+
+        TicketSimulation simulation = new TicketSimulation(
+                Integer.parseInt(options.getOrDefault("producers", "1")),
+                Integer.parseInt(options.getOrDefault("consumers", "1")),
+                Integer.parseInt(options.getOrDefault("vip-consumers", "0")),
+                Integer.parseInt(options.getOrDefault("presale-consumers", "0")),
+                Integer.parseInt(options.getOrDefault("release-rate", "10")),
+                Integer.parseInt(options.getOrDefault("retrieval-rate", "10")),
+                Integer.parseInt(options.getOrDefault("capacity", "50")),
+                Long.parseLong(options.getOrDefault("total-tickets", "0")),
+                Double.parseDouble(options.getOrDefault("jitter", "0")),
+                Long.parseLong(options.getOrDefault("seed", "1")));
+        double hours = Double.parseDouble(options.getOrDefault("hours", "1"));
+
+        simulation.run((long) (hours * TimeUnit.HOURS.toMillis(1))).print(System.out);
+    }
+
+    /**
+     * Runs the simulation for the given amount of virtual time.
+     *
+     * @param durationMillis the virtual duration in milliseconds
+     * @return the report of the run
+     */
+    public SimulationReport run(long durationMillis) {
+        long started = System.nanoTime();
+        long releaseInterval = TimeUnit.NANOSECONDS.toMillis(TicketProducer.releaseIntervalNanos(ticketReleaseRate));
+        for (int i = 0; i < producers; i++) {
+            long offset = randomOffset(releaseInterval);
+            engine.schedule(offset, new SimulatedProducer(offset)::step);
+        }
+        consumers.forEach((tier, count) -> {
+            for (int i = 0; i < count; i++) {
+                engine.schedule(randomOffset(TicketConsumer.PURCHASE_INTERVAL_MILLIS),
+                        new SimulatedConsumer(tier)::startCycle);
+            }
+        });
+        engine.runUntil(durationMillis);
+        return pool.report(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private long randomOffset(long interval) {
+        return interval > 0 ? random.nextLong(interval) : 0;
+    }
+
+    private long paced(long interval) {
+        if (jitter <= 0 || interval == 0) {
+            return interval;
+        }
+        double deviation = interval * jitter * (2 * random.nextDouble() - 1);
+        return Math.max(0, Math.round(interval + deviation));
+    }
+
+    /** Mirrors the loop of {@link TicketProducer#run()}. */
+    private final class SimulatedProducer {
+        private final long intervalNanos = TicketProducer.releaseIntervalNanos(ticketReleaseRate);
+        private long deadlineNanos;
+
+        SimulatedProducer(long startMillis) {
+            deadlineNanos = TimeUnit.MILLISECONDS.toNanos(startMillis);
+        }
+
+        void step() {
+            if (totalTickets > 0 && pool.ticketsReleased() >= totalTickets) {
+                return; // The event is sold out for this vendor
+            }
+            if (pool.addTicket(TicketProducer.TICKETS_PER_RELEASE, this::added)) {
+                added();
+            }
+        }
+
+        void added() {
+            deadlineNanos = TicketProducer.nextDeadline(deadlineNanos, paced(intervalNanos),
+                    TimeUnit.MILLISECONDS.toNanos(engine.now()));
+            long dueMillis = (deadlineNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1);
+            engine.schedule(dueMillis - engine.now(), this::step);
+        }
+    }
+
+    /** Mirrors the loop of {@link TicketConsumer#run()}. */
+    private final class SimulatedConsumer {
+        private final int batchSize = Math.min(customerRetrievalRate, pool.maxTicketCapacity());
+        private final PriorityTier tier;
+
+        SimulatedConsumer(PriorityTier tier) {
+            this.tier = tier;
+        }
+
+        void startCycle() {
+            if (pool.tryRetrieveUpTo(batchSize, tier, TicketConsumer.PURCHASE_INTERVAL_MILLIS, this::nextCycle,
+                    this::nextCycle)) {
+                nextCycle();
+            }
+        }
+
+        void nextCycle() {
+            engine.schedule(paced(TicketConsumer.PURCHASE_INTERVAL_MILLIS), this::startCycle);
+        }
+    }
+}
@@ -1,4 +1,8 @@
 package CLI;
+import com.example.ticketing.core.InventorySettings;
+import com.example.ticketing.core.TicketInventories;
+import com.example.ticketing.core.TicketInventory;
+import java.util.Arrays;
 import java.util.Scanner;
 import com.google.gson.*;
 import java.io.*;
@@ -12,7 +16,7 @@ import java.nio.file.*;
  * and consumer threads.
  *
  * <p>
- * The system uses a {@link TicketProducer} to simulate ticket releases into a {@link TicketPool},
+ * The system uses a {@link TicketProducer} to simulate ticket releases into a {@link TicketInventory},
  * and a {@link TicketConsumer} to simulate customers retrieving tickets from the pool.
  * </p>
  *
@@ -23,17 +27,29 @@ import java.nio.file.*;
  *
  * @see TicketProducer
  * @see TicketConsumer
- * @see TicketPool
+ * @see TicketInventory
  */
 public class TicketingCLI {
     private int totalTickets;
     private int ticketsReleaseRate;
     private int customerRetrievalRate;
     private int maxTicketCapacity;
+    private String poolType = TicketInventories.DEFAULT_TYPE;
+    private String storeFile;
     private boolean running = true; // Control for stop/start
 
 
-    public static void main(String[] args) {
+    /**
+     * Starts the interactive CLI, or a non-interactive benchmark when {@code --headless} is given.
+     *
+     * @param args command-line arguments; see {@link HeadlessBenchmark} for the headless flags
+     *             and exit statuses.
+     * @throws Exception if the headless benchmark is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--headless")) {
+            System.exit(HeadlessBenchmark.execute(args, System.out, System.err));
+        }
         TicketingCLI cli = new TicketingCLI();
         cli.loadConfiguration();
         cli.configureSystem();
@@ -54,6 +70,12 @@ public class TicketingCLI {
             ticketsReleaseRate = config.get("ticketReleaseRate").getAsInt();
             customerRetrievalRate = config.get("customerRetrievalRate").getAsInt();
             maxTicketCapacity = config.get("maxTicketCapacity").getAsInt();
+            if (config.has("poolType")) {
+                poolType = config.get("poolType").getAsString();
+            }
+            if (config.has("storeFile")) {
+                storeFile = config.get("storeFile").getAsString();
+            }
 
             System.out.println("Configuration loaded from JSON!");
         } catch (IOException e) {
@@ -76,6 +98,10 @@ public class TicketingCLI {
             config.addProperty("ticketReleaseRate", ticketsReleaseRate);
             config.addProperty("customerRetrievalRate", customerRetrievalRate);
             config.addProperty("maxTicketCapacity", maxTicketCapacity);
+            config.addProperty("poolType", poolType);
+            if (storeFile != null) {
+                config.addProperty("storeFile", storeFile);
+            }
 
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
             gson.toJson(config, writer);
@@ -147,14 +173,15 @@ public class TicketingCLI {
      * Controls the start and stop commands of the ticket producer and consumer threads.
      *
      * <p>
-     * The producer adds tickets to the {@code TicketPool}, while the consumer retrieves
-     * tickets from the pool. Users can issue 'start' or 'stop' commands to control the system.
+     * The producer adds tickets to the {@code TicketInventory} selected by {@code poolType},
+     * while the consumer retrieves tickets from it. Users can issue 'start' or 'stop' commands to control the system.
      * </p>
      *
      * @param scanner The {@link Scanner} object to read user commands.
      */
     private void startStopCommand(Scanner scanner) {
-        TicketPool ticketPool = new TicketPool(maxTicketCapacity);
+        TicketInventory ticketPool = TicketInventories.create(poolType, new InventorySettings(
+                maxTicketCapacity, totalTickets, storeFile != null ? Path.of(storeFile) : null, true));
         Thread producerThread = new Thread(new TicketProducer(ticketPool, ticketsReleaseRate));
         Thread consumerThread = new Thread(new TicketConsumer(ticketPool, customerRetrievalRate));
 
@@ -186,5 +213,6 @@ public class TicketingCLI {
             }
         }
         scanner.close();
+        ticketPool.close();
     }
 }
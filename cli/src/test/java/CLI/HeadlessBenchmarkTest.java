@@ -0,0 +1,107 @@
+package CLI;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessBenchmarkTest {
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    void unknownFlagIsReportedWithoutAStackTrace() throws Exception {
+        assertUsageError("Unknown option: --bogus", "--headless", "--bogus");
+    }
+
+    @Test
+    void missingOrMalformedValuesAreReported() throws Exception {
+        assertUsageError("producers must be a whole number, but was ''", "--headless", "--producers");
+        assertUsageError("consumers must be a whole number, but was 'many'", "--headless", "--consumers=many");
+        assertUsageError("duration must be a positive number", "--headless", "--duration=0");
+        assertUsageError("vip-consumers must not be negative", "--headless", "--vip-consumers=-1");
+    }
+
+    @Test
+    void invalidConfigurationFileIsReported() throws Exception {
+        Path missing = directory.resolve("missing.json");
+        assertUsageError("Configuration file " + missing + " does not exist", "--headless", "--config=" + missing);
+
+        Path malformed = Files.writeString(directory.resolve("bench.json"), "[1, 2]");
+        assertUsageError("Configuration file " + malformed + " is not a JSON object",
+                "--headless", "--config=" + malformed);
+
+        Path negative = Files.writeString(directory.resolve("negative.json"), "{\"producers\": -2}");
+        assertUsageError("producers must be a positive number", "--headless", "--config=" + negative);
+    }
+
+    @Test
+    void invalidInventorySettingsAreReported() throws Exception {
+        assertUsageError("Unknown inventory type 'nonsense'", "--headless", "--pool=nonsense");
+        assertUsageError("The mapped inventory needs a store file and a positive total ticket count",
+                "--headless", "--pool=mapped", "--store-file=" + directory.resolve("tickets"));
+    }
+
+    @Test
+    void summaryIsOneJsonLineOnStandardOutput() throws Exception {
+        Path output = directory.resolve("reports/bench.json");
+        int status = execute("--headless", "--tickets=200", "--unpaced", "--vip-consumers=1",
+                "--duration=10", "--output=" + output);
+
+        assertEquals(0, status, err.toString());
+        assertEquals("", err.toString());
+        List<String> lines = out.toString().lines().toList();
+        assertEquals(1, lines.size());
+        assertEquals(lines.get(0), Files.readString(output).strip());
+
+        JsonObject summary = JsonParser.parseString(lines.get(0)).getAsJsonObject();
+        assertEquals(Set.of("config", "elapsedSeconds", "ticketsAdded", "ticketsSold", "addThroughputPerSecond",
+                "sellThroughputPerSecond", "producerWaits", "consumerWaits", "addLatencyMicros",
+                "retrieveLatencyMicros", "tiers"), summary.keySet());
+
+        JsonObject config = summary.getAsJsonObject("config");
+        assertEquals(200, config.get("totalTickets").getAsInt());
+        assertEquals(1, config.get("vipConsumers").getAsInt());
+        assertFalse(config.get("paced").getAsBoolean());
+        assertTrue(summary.get("ticketsSold").getAsLong() >= 200);
+
+        Set<String> percentiles = Set.of("count", "p50", "p90", "p99", "p999", "max");
+        assertEquals(percentiles, summary.getAsJsonObject("addLatencyMicros").keySet());
+        assertEquals(percentiles, summary.getAsJsonObject("retrieveLatencyMicros").keySet());
+
+        JsonObject tiers = summary.getAsJsonObject("tiers");
+        assertEquals(Set.of("VIP", "GENERAL"), tiers.keySet());
+        JsonObject vip = tiers.getAsJsonObject("VIP");
+        assertEquals(Set.of("consumers", "ticketsSold", "retrieveLatencyMicros"), vip.keySet());
+        assertEquals(1, vip.get("consumers").getAsInt());
+        assertEquals(percentiles, vip.getAsJsonObject("retrieveLatencyMicros").keySet());
+    }
+
+    private void assertUsageError(String message, String... args) throws Exception {
+        out.reset();
+        err.reset();
+        assertEquals(HeadlessBenchmark.EXIT_USAGE, execute(args));
+        assertEquals("", out.toString());
+        String error = err.toString();
+        assertTrue(error.startsWith("Invalid benchmark settings: " + message), error);
+        assertTrue(error.contains("Usage: --headless"), error);
+        assertFalse(error.contains("\tat "), error);
+    }
+
+    private int execute(String... args) throws Exception {
+        return HeadlessBenchmark.execute(args, new PrintStream(out, true), new PrintStream(err, true));
+    }
+}
@@ -0,0 +1,37 @@
+package CLI;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketProducerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void ratesAboveOneThousandPerSecondKeepTheirInterval() {
+        assertEquals(SECOND / 7, TicketProducer.releaseIntervalNanos(7));
+        assertEquals(400_000, TicketProducer.releaseIntervalNanos(2_500));
+    }
+
+    @Test
+    void deadlinesFollowTheRateWithoutDrift() {
+        long interval = TicketProducer.releaseIntervalNanos(7);
+        long deadline = 0;
+        for (int release = 0; release < 7_000; release++) {
+            // Each add finishes well before the next deadline
+            deadline = TicketProducer.nextDeadline(deadline, interval, deadline + interval / 2);
+        }
+        assertEquals(1_000 * SECOND, deadline, 7_000);
+    }
+
+    @Test
+    void blockedProducerContinuesFromNowWithoutABurst() {
+        long interval = TicketProducer.releaseIntervalNanos(10);
+        long afterBlocking = TicketProducer.nextDeadline(0, interval, 5 * SECOND);
+        assertEquals(5 * SECOND, afterBlocking);
+        assertEquals(5 * SECOND + interval, TicketProducer.nextDeadline(afterBlocking, interval, 5 * SECOND));
+    }
+}
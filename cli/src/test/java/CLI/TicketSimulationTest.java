@@ -0,0 +1,105 @@
+package CLI;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.pool.TicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketSimulationTest {
+
+    private static final long TEN_MINUTES = TimeUnit.MINUTES.toMillis(10);
+
+    @Test
+    void sameSeedGivesTheSameReport() {
+        SimulationReport first = simulation(7).run(TEN_MINUTES);
+        SimulationReport second = simulation(7).run(TEN_MINUTES);
+
+        assertTrue(first.ticketsSold() > 0);
+        assertEquals(withoutWallClock(first), withoutWallClock(second));
+        assertNotEquals(withoutWallClock(first), withoutWallClock(simulation(8).run(TEN_MINUTES)));
+    }
+
+    @Test
+    void producersKeepRatesThatDoNotDivideASecond() {
+        // 1000 / 7 ms would release 4225 tickets in ten minutes
+        SimulationReport report = new TicketSimulation(1, 1, 0, 0, 7, 1, 10_000, 0, 0, 1).run(TEN_MINUTES);
+        assertEquals(7 * 600, report.ticketsReleased(), 1);
+    }
+
+    @Test
+    void servedConsumerLeavesNoTimeoutBehind() {
+        SimulationEngine engine = new SimulationEngine();
+        SimulatedTicketPool pool = new SimulatedTicketPool(engine, 10);
+        List<String> outcomes = new ArrayList<>();
+        assertFalse(pool.tryRetrieveUpTo(2, PriorityTier.GENERAL, TEN_MINUTES,
+                () -> outcomes.add("served"), () -> outcomes.add("timed out")));
+        assertEquals(1, engine.pendingEvents());
+
+        assertTrue(pool.addTicket(2, () -> { }));
+        engine.runUntil(TEN_MINUTES);
+
+        assertEquals(List.of("served"), outcomes);
+        assertEquals(0, engine.pendingEvents());
+        assertEquals(1, engine.processedEvents());
+    }
+
+    @Test
+    void tiersShareReleasedTicketsExactlyAsTicketPoolDoes() throws Exception {
+        TicketPool pool = new TicketPool(10, false);
+        SimulationEngine engine = new SimulationEngine();
+        SimulatedTicketPool simulated = new SimulatedTicketPool(engine, 10);
+
+        List<Thread> customers = new ArrayList<>();
+        for (PriorityTier tier : PriorityTier.values()) {
+            for (int i = 0; i < 4; i++) {
+                Thread customer = new Thread(() -> {
+                    try {
+                        pool.retrieveTickets(2, tier);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                customers.add(customer);
+                customer.start();
+                simulated.tryRetrieveUpTo(2, tier, TEN_MINUTES, () -> { }, () -> { });
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getConsumerWaits() < customers.size()) {
+            assertTrue(System.nanoTime() < deadline, "customers did not queue");
+            Thread.sleep(1);
+        }
+
+        for (int released = 1; released <= 2 * customers.size(); released++) {
+            pool.addTicket(1);
+            simulated.addTicket(1, () -> { });
+            engine.runUntil(engine.now());
+            for (PriorityTier tier : PriorityTier.values()) {
+                assertEquals(pool.getTicketsSold(tier), simulated.ticketsSold(tier),
+                        tier + " after " + released + " tickets");
+            }
+        }
+        for (Thread customer : customers) {
+            customer.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(customer.isAlive(), "a customer was never served");
+        }
+    }
+
+    private static TicketSimulation simulation(long seed) {
+        return new TicketSimulation(5, 200, 20, 40, 7, 4, 50, 0, 0.2, seed);
+    }
+
+    private static SimulationReport withoutWallClock(SimulationReport report) {
+        return new SimulationReport(report.simulatedMillis(), 0, report.events(),
+                report.ticketsReleased(), report.ticketsSold(), report.ticketsSoldByTier(),
+                report.finalTickets(), report.peakTickets(), report.meanTickets(),
+                report.producerWaits(), report.consumerWaits(),
+                report.producerWaitMillis(), report.consumerWaitMillis(),
+                report.stalledProducers(), report.stalledConsumers());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ticketing.core;
+
+import java.nio.file.Path;
+
+/**
+ * The {@code InventorySettings} record carries the settings handed to a
+ * {@link TicketInventoryProvider}. Implementations ignore settings they have no use for.
+ *
+ * @param maxTicketCapacity the maximum number of tickets available at a time
+ * @param totalTickets      the number of tickets in the whole event, or {@code 0} for no limit
+ * @param storeFile         the file backing a persistent inventory, or {@code null}
+ * @param verbose           whether every operation is logged to standard output
+ */
+public record InventorySettings(int maxTicketCapacity, long totalTickets, Path storeFile, boolean verbose) {
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if the capacity is not positive or the total is negative
+     */
+    public InventorySettings {
+        if (maxTicketCapacity <= 0) {
+            throw new IllegalArgumentException("Maximum ticket capacity must be greater than zero.");
+        }
+        if (totalTickets < 0) {
+            throw new IllegalArgumentException("Total tickets must not be negative.");
+        }
+    }
+}
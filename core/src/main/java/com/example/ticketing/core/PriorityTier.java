@@ -0,0 +1,34 @@
+package com.example.ticketing.core;
+
+/**
+ * The {@code PriorityTier} enum lists the customer tiers served by a {@link TicketInventory}.
+ *
+ * <p>
+ * When customers have to wait, an inventory that supports tiers shares newly released
+ * tickets between them in proportion to their weights, so a VIP customer is served ahead
+ * of general customers during a crush while general customers still make steady progress.
+ * </p>
+ */
+public enum PriorityTier {
+    /** Highest priority, e.g. VIP ticket holders. */
+    VIP(6),
+    /** Pre-sale customers. */
+    PRESALE(3),
+    /** Everyone else. */
+    GENERAL(1);
+
+    private final int weight;
+
+    PriorityTier(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the share of tickets this tier receives relative to the other tiers.
+     *
+     * @return the tier's weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+}
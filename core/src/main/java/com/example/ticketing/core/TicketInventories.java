@@ -0,0 +1,47 @@
+package com.example.ticketing.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The {@code TicketInventories} class creates {@link TicketInventory} instances by provider name.
+ *
+ * <p>
+ * Two providers ship with the core module:
+ * <ul>
+ *     <li>{@code linked}: the in-memory {@link com.example.ticketing.core.pool.TicketPool}
+ *     with weighted-fair priority tiers (the default)</li>
+ *     <li>{@code mapped}: a pool whose ticket states live in a memory-mapped file,
+ *     see {@link com.example.ticketing.core.mapped.MappedTicketInventory}</li>
+ * </ul>
+ * Further implementations are picked up from the class path through {@link ServiceLoader}.
+ * </p>
+ */
+public final class TicketInventories {
+
+    /** The provider used when none is configured. */
+    public static final String DEFAULT_TYPE = "linked";
+
+    private TicketInventories() {
+    }
+
+    /**
+     * Creates an inventory with the named provider.
+     *
+     * @param type     the provider name, e.g. {@code linked} or {@code mapped}
+     * @param settings the inventory settings
+     * @return the new inventory
+     * @throws IllegalArgumentException if no provider has that name, or the settings are invalid for it
+     */
+    public static TicketInventory create(String type, InventorySettings settings) {
+        List<String> names = new ArrayList<>();
+        for (TicketInventoryProvider provider : ServiceLoader.load(TicketInventoryProvider.class)) {
+            if (provider.getName().equalsIgnoreCase(type)) {
+                return provider.create(settings);
+            }
+            names.add(provider.getName());
+        }
+        throw new IllegalArgumentException("Unknown inventory type '" + type + "'. Available types: " + names + ".");
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.ticketing.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TicketInventory} interface is the contract between the front ends and a
+ * ticket pool implementation. Producers add tickets, consumers retrieve them, and the
+ * inventory holds at most {@link #getMaxTicketCapacity()} available tickets at a time.
+ *
+ * <p>
+ * Implementations must be safe for concurrent use by any number of producers and
+ * consumers. They are created through {@link TicketInventories} from a
+ * {@link TicketInventoryProvider}, so the CLI, the headless benchmark and the web
+ * application can run against any of them by configuration alone.
+ * </p>
+ *
+ * @see TicketInventories
+ */
+public interface TicketInventory extends AutoCloseable {
+
+    /**
+     * Adds tickets, blocking until there is room for all of them.
+     *
+     * @param ticketCount the number of tickets to add.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    void addTicket(int ticketCount) throws InterruptedException;
+
+    /**
+     * Adds tickets, waiting at most the given time for room for all of them.
+     *
+     * @param ticketCount the number of tickets to add.
+     * @param timeout     the maximum time to wait.
+     * @param unit        the unit of {@code timeout}.
+     * @return {@code true} if the tickets were added, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    boolean tryAdd(int ticketCount, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Retrieves tickets for a customer of the given tier, blocking until all of them are available.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param tier        the customer's priority tier.
+     * @return the number of tickets retrieved.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    int retrieveTickets(int ticketCount, PriorityTier tier) throws InterruptedException;
+
+    /**
+     * Retrieves tickets for a general customer, blocking until all of them are available.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @return the number of tickets retrieved.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    default int retrieveTickets(int ticketCount) throws InterruptedException {
+        return retrieveTickets(ticketCount, PriorityTier.GENERAL);
+    }
+
+    /**
+     * Retrieves tickets for a customer of the given tier, waiting at most the given time.
+     * Either all {@code ticketCount} tickets are retrieved or none are.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param tier        the customer's priority tier.
+     * @param timeout     the maximum time to wait.
+     * @param unit        the unit of {@code timeout}.
+     * @return {@code true} if the tickets were retrieved, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    boolean tryRetrieve(int ticketCount, PriorityTier tier, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Retrieves tickets for a general customer, waiting at most the given time.
+     * Either all {@code ticketCount} tickets are retrieved or none are.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param timeout     the maximum time to wait.
+     * @param unit        the unit of {@code timeout}.
+     * @return {@code true} if the tickets were retrieved, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    default boolean tryRetrieve(int ticketCount, long timeout, TimeUnit unit) throws InterruptedException {
+        return tryRetrieve(ticketCount, PriorityTier.GENERAL, timeout, unit);
+    }
+
+    /**
+     * Retrieves tickets for a customer of the given tier, waiting at most the given time for
+     * all {@code maxTickets} of them in the same order as {@link #tryRetrieve}. If the time
+     * elapses first, the customer takes whatever is available from its own place in that
+     * order instead of leaving empty-handed.
+     *
+     * @param maxTickets the number of tickets wanted.
+     * @param tier       the customer's priority tier.
+     * @param timeout    the maximum time to wait for all of them.
+     * @param unit       the unit of {@code timeout}.
+     * @return the number of tickets retrieved, between zero and {@code maxTickets}.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code maxTickets} is negative or larger than the capacity.
+     */
+    int tryRetrieveUpTo(int maxTickets, PriorityTier tier, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Retrieves as many tickets as are available, up to {@code maxTickets}, without waiting.
+     * Customers already waiting are served first, so nothing is retrieved while any are queued.
+     *
+     * @param maxTickets the maximum number of tickets to retrieve.
+     * @return the number of tickets retrieved, possibly zero.
+     */
+    int retrieveUpTo(int maxTickets);
+
+    /**
+     * Puts back tickets a customer of the given tier retrieved but could not use, for
+     * example because recording the sale failed. The tickets become available again
+     * straight away and no longer count as sold. They are not counted as added again, and
+     * may briefly take the inventory over its capacity if producers refilled it meanwhile.
+     *
+     * @param ticketCount the number of tickets to put back.
+     * @param tier        the tier the tickets were retrieved for.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    void returnTickets(int ticketCount, PriorityTier tier);
+
+    /**
+     * Returns the number of tickets currently available.
+     *
+     * @return the number of available tickets.
+     */
+    int getAvailableTickets();
+
+    /**
+     * Returns the maximum number of tickets the inventory holds at a time.
+     *
+     * @return the maximum ticket capacity.
+     */
+    int getMaxTicketCapacity();
+
+    /**
+     * Returns the total number of tickets added.
+     *
+     * @return the number of tickets added.
+     */
+    long getTicketsAdded();
+
+    /**
+     * Returns the total number of tickets sold.
+     *
+     * @return the number of tickets sold.
+     */
+    long getTicketsSold();
+
+    /**
+     * Returns the number of tickets sold to customers of the given tier through
+     * {@link #retrieveTickets(int, PriorityTier)} and
+     * {@link #tryRetrieve(int, PriorityTier, long, TimeUnit)}.
+     *
+     * @param tier the priority tier.
+     * @return the number of tickets sold to that tier.
+     */
+    long getTicketsSold(PriorityTier tier);
+
+    /**
+     * Returns how many times a producer had to wait for room.
+     *
+     * @return the number of producer waits.
+     */
+    long getProducerWaits();
+
+    /**
+     * Returns how many times a consumer had to wait for tickets.
+     *
+     * @return the number of consumer waits.
+     */
+    long getConsumerWaits();
+
+    /**
+     * Releases any resources held by the inventory. The default does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ticketing.core;
+
+/**
+ * The {@code TicketInventoryProvider} interface is the service provider interface for
+ * {@link TicketInventory} implementations.
+ *
+ * <p>
+ * Providers are discovered with {@link java.util.ServiceLoader}: an implementation
+ * packaged in its own jar registers itself in
+ * {@code META-INF/services/com.example.ticketing.core.TicketInventoryProvider} and becomes
+ * selectable by {@link #getName()} without any change to the front ends.
+ * </p>
+ *
+ * @see TicketInventories
+ */
+public interface TicketInventoryProvider {
+
+    /**
+     * Returns the name the implementation is selected by in configuration, e.g. {@code linked}.
+     *
+     * @return the provider name
+     */
+    String getName();
+
+    /**
+     * Creates a new inventory.
+     *
+     * @param settings the inventory settings
+     * @return the new inventory
+     * @throws IllegalArgumentException if the settings are not valid for this implementation
+     * @throws java.io.UncheckedIOException if a backing file cannot be opened
+     */
+    TicketInventory create(InventorySettings settings);
+}
@@ -0,0 +1,328 @@
+package com.example.ticketing.core.mapped;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.TicketInventory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code MappedTicketInventory} class is a {@link TicketInventory} whose tickets live
+ * in a {@link MappedTicketStore}, so the whole event's inventory survives a restart and
+ * costs two bits per ticket instead of heap objects.
+ *
+ * <p>
+ * Producers release the store's tickets in id order and consumers claim the lowest
+ * available ids. The pool limit of {@link #getMaxTicketCapacity()} available tickets and
+ * the blocking rules are enforced under one lock with a condition each for producers and
+ * consumers. Waiting consumers are served strictly in arrival order whatever their
+ * {@link PriorityTier}; tiers are only counted. Only the consumer at the head of the queue
+ * may claim tickets, and nobody may claim around a queue, so a partial fill or a
+ * non-blocking retrieval never takes tickets from a customer who was waiting first.
+ * </p>
+ */
+public class MappedTicketInventory implements TicketInventory {
+
+    private final MappedTicketStore store;
+    private final int maxTicketCapacity;
+    private final boolean verbose;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+
+    /** One token per consumer waiting for tickets, in arrival order. */
+    private final ArrayDeque<Object> waitingConsumers = new ArrayDeque<>();
+
+    private final long[] ticketsSoldByTier = new long[PriorityTier.values().length];
+    private long producerWaits = 0;
+    private long consumerWaits = 0;
+
+    /**
+     * Constructs a {@code MappedTicketInventory} over an opened store.
+     *
+     * @param store             the store holding the event's tickets; closed with this inventory
+     * @param maxTicketCapacity the maximum number of tickets available at a time
+     * @param verbose           whether every operation is logged to standard output
+     * @throws IllegalArgumentException if {@code maxTicketCapacity} is not positive
+     */
+    public MappedTicketInventory(MappedTicketStore store, int maxTicketCapacity, boolean verbose) {
+        if (maxTicketCapacity <= 0) {
+            throw new IllegalArgumentException("Maximum ticket capacity must be greater than zero.");
+        }
+        this.store = store;
+        this.maxTicketCapacity = maxTicketCapacity;
+        this.verbose = verbose;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if every ticket of the event has already been released
+     */
+    @Override
+    public void addTicket(int ticketCount) throws InterruptedException {
+        checkBatchSize(ticketCount);
+        lock.lockInterruptibly();
+        try {
+            while (store.getAvailableTickets() + ticketCount > maxTicketCapacity) {
+                producerWaits++;
+                log("Pool is full. Waiting for tickets to be retrieved...");
+                notFull.await();
+            }
+            release(ticketCount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if every ticket of the event has already been released
+     */
+    @Override
+    public boolean tryAdd(int ticketCount, long timeout, TimeUnit unit) throws InterruptedException {
+        checkBatchSize(ticketCount);
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (store.getAvailableTickets() + ticketCount > maxTicketCapacity) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                producerWaits++;
+                log("Pool is full. Waiting for tickets to be retrieved...");
+                remaining = notFull.awaitNanos(remaining);
+            }
+            release(ticketCount);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int retrieveTickets(int ticketCount, PriorityTier tier) throws InterruptedException {
+        return retrieve(ticketCount, tier, -1, false);
+    }
+
+    @Override
+    public boolean tryRetrieve(int ticketCount, PriorityTier tier, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return retrieve(ticketCount, tier, Math.max(0, unit.toNanos(timeout)), false) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the time elapses first, only the consumer at the head of the queue takes a
+     * partial fill; consumers behind it leave with nothing.</p>
+     */
+    @Override
+    public int tryRetrieveUpTo(int maxTickets, PriorityTier tier, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return Math.max(0, retrieve(maxTickets, tier, Math.max(0, unit.toNanos(timeout)), true));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Queued consumers are served first, so nothing is retrieved while any are waiting.</p>
+     */
+    @Override
+    public int retrieveUpTo(int maxTickets) {
+        lock.lock();
+        try {
+            int ticketCount = waitingConsumers.isEmpty()
+                    ? (int) Math.min(Math.max(maxTickets, 0), store.getAvailableTickets()) : 0;
+            if (ticketCount > 0) {
+                claim(ticketCount, null);
+            }
+            return ticketCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Callers only see ticket counts, so any sold tickets can be put back on sale; the
+     * store refunds the highest sold ids, a word at a time.</p>
+     */
+    @Override
+    public void returnTickets(int ticketCount, PriorityTier tier) {
+        checkBatchSize(ticketCount);
+        lock.lock();
+        try {
+            int returned = store.refund(ticketCount);
+            ticketsSoldByTier[tier.ordinal()] -= returned;
+            log(returned + " Tickets Returned | Available Tickets: " + store.getAvailableTickets());
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return (int) store.getAvailableTickets();
+    }
+
+    @Override
+    public int getMaxTicketCapacity() {
+        return maxTicketCapacity;
+    }
+
+    /**
+     * Returns the number of tickets released from the store, including before a restart.
+     *
+     * @return the number of tickets added.
+     */
+    @Override
+    public long getTicketsAdded() {
+        return store.getReleasedTickets();
+    }
+
+    /**
+     * Returns the number of tickets sold from the store, including before a restart.
+     *
+     * @return the number of tickets sold.
+     */
+    @Override
+    public long getTicketsSold() {
+        return store.getSoldTickets();
+    }
+
+    @Override
+    public long getTicketsSold(PriorityTier tier) {
+        lock.lock();
+        try {
+            return ticketsSoldByTier[tier.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getProducerWaits() {
+        lock.lock();
+        try {
+            return producerWaits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getConsumerWaits() {
+        lock.lock();
+        try {
+            return consumerWaits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the ticket states to disk.
+     */
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private void checkBatchSize(int ticketCount) {
+        if (ticketCount < 0 || ticketCount > maxTicketCapacity) {
+            throw new IllegalArgumentException("Ticket count must be between 0 and the maximum capacity of "
+                    + maxTicketCapacity + ", but was " + ticketCount + ".");
+        }
+    }
+
+    private void release(int ticketCount) {
+        long released = store.release(ticketCount);
+        if (released == 0 && ticketCount > 0) {
+            throw new IllegalStateException("All " + store.getCapacity() + " tickets have already been released.");
+        }
+        log("Tickets Added: " + released + " | Available Tickets: " + store.getAvailableTickets());
+        notEmpty.signalAll();
+    }
+
+    /**
+     * Retrieves tickets in arrival order and returns how many were retrieved, or {@code -1}
+     * if the timeout elapsed and {@code partial} was not allowed. A negative timeout waits
+     * indefinitely.
+     */
+    private int retrieve(int ticketCount, PriorityTier tier, long timeoutNanos, boolean partial)
+            throws InterruptedException {
+        checkBatchSize(ticketCount);
+        lock.lockInterruptibly();
+        try {
+            if (waitingConsumers.isEmpty() && store.getAvailableTickets() >= ticketCount) {
+                claim(ticketCount, tier);
+                return ticketCount;
+            }
+            Object turn = new Object();
+            waitingConsumers.addLast(turn);
+            consumerWaits++;
+            log("Pool is empty. Waiting for tickets to be added...");
+            try {
+                long remaining = timeoutNanos;
+                while (waitingConsumers.peekFirst() != turn || store.getAvailableTickets() < ticketCount) {
+                    if (timeoutNanos < 0) {
+                        notEmpty.await();
+                    } else if (remaining <= 0) {
+                        if (!partial) {
+                            return -1;
+                        }
+                        // Only the head of the queue may take a partial fill; the tickets
+                        // belong to it before anyone queued behind it
+                        int available = waitingConsumers.peekFirst() == turn
+                                ? (int) Math.min(ticketCount, store.getAvailableTickets()) : 0;
+                        if (available > 0) {
+                            claim(available, tier);
+                        }
+                        return available;
+                    } else {
+                        remaining = notEmpty.awaitNanos(remaining);
+                    }
+                }
+                claim(ticketCount, tier);
+                return ticketCount;
+            } finally {
+                waitingConsumers.remove(turn);
+                notEmpty.signalAll(); // The consumer behind this one may be due now
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Claims exactly {@code ticketCount} tickets. Callers hold the lock and have checked
+     * that enough are available, so a shorter claim means the store was changed behind the
+     * inventory's back; the partial claim is put back and the call fails.
+     */
+    private void claim(int ticketCount, PriorityTier tier) {
+        int claimed = store.claim(ticketCount, ticketId -> { });
+        if (claimed != ticketCount) {
+            store.refund(claimed);
+            throw new IllegalStateException("Claimed " + claimed + " of " + ticketCount
+                    + " tickets that were counted as available; the store was modified outside the inventory.");
+        }
+        if (tier != null) {
+            ticketsSoldByTier[tier.ordinal()] += claimed;
+        }
+        log(claimed + " Tickets Sold | Available Tickets: " + store.getAvailableTickets());
+        notFull.signalAll();
+    }
+
+    private void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+}
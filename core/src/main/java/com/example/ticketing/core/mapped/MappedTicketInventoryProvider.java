@@ -0,0 +1,34 @@
+package com.example.ticketing.core.mapped;
+
+import com.example.ticketing.core.InventorySettings;
+import com.example.ticketing.core.TicketInventory;
+import com.example.ticketing.core.TicketInventoryProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The {@code MappedTicketInventoryProvider} class provides {@link MappedTicketInventory}
+ * under the name {@code mapped}. It needs both a store file and the event's total number
+ * of tickets.
+ */
+public class MappedTicketInventoryProvider implements TicketInventoryProvider {
+
+    @Override
+    public String getName() {
+        return "mapped";
+    }
+
+    @Override
+    public TicketInventory create(InventorySettings settings) {
+        if (settings.storeFile() == null || settings.totalTickets() <= 0) {
+            throw new IllegalArgumentException("The mapped inventory needs a store file and a positive total ticket count.");
+        }
+        try {
+            MappedTicketStore store = MappedTicketStore.open(settings.storeFile(), settings.totalTickets());
+            return new MappedTicketInventory(store, settings.maxTicketCapacity(), settings.verbose());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.example.ticketing.core.mapped;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * The {@code MappedTicketStore} class keeps the {@link TicketState} of every ticket of an
+ * event in a memory-mapped file, two bits per ticket.
+ *
+ * <p>A 100 million ticket inventory takes 25 MB of file-backed memory outside the Java
+ * heap, instead of one JPA entity or list node per ticket, and reopening the file after a
+ * restart is a single {@code mmap} plus one pass to recount the states. Ticket ids run
+ * from {@code 0} to {@code capacity - 1}.
+ *
+ * <p>States are packed 32 to a {@code long} word and every transition is a compare-and-set
+ * on that word through a {@link VarHandle} view of the mapped buffer, so the store is safe
+ * for concurrent use without locks. Looking for available tickets tests a whole word at a
+ * time, and a claim takes as many tickets as it needs from a word in one compare-and-set.
+ * Releases are the exception: they are rare, and are serialized with each other so the
+ * released-ticket cursor in the header only ever moves past tickets that are already
+ * available. Changes reach the operating system's page cache immediately and survive a
+ * crash of the JVM; {@link #force()} also writes them to the storage device.
+ */
+public class MappedTicketStore implements Closeable {
+
+    private static final long MAGIC = 0x544B545354415445L; // "TKTSTATE"
+    private static final long VERSION = 1;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int RELEASED_OFFSET = 24;
+    private static final int HEADER_BYTES = 64;
+
+    private static final int TICKETS_PER_WORD = Long.SIZE / 2;
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    /** The largest capacity a single mapping can hold. */
+    public static final long MAX_CAPACITY = (long) ((Integer.MAX_VALUE - HEADER_BYTES) / Long.BYTES) * TICKETS_PER_WORD;
+
+    private static final VarHandle WORDS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final long capacity;
+    private final LongAdder availableTickets = new LongAdder();
+    private final LongAdder soldTickets = new LongAdder();
+
+    /** The word the last successful claim found tickets in; scans start there. */
+    private final AtomicLong scanHint = new AtomicLong();
+
+    /** Serializes releases, so each one flips its tickets before it moves the cursor. */
+    private final ReentrantLock releaseLock = new ReentrantLock();
+
+    private MappedTicketStore(MappedByteBuffer buffer, long capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the store in {@code file}, creating it with every ticket {@link TicketState#UNRELEASED}
+     * if the file does not exist yet.
+     *
+     * @param file     the file holding the ticket states
+     * @param capacity the number of tickets in the inventory
+     * @return the opened store
+     * @throws IOException if the file cannot be mapped, is not a ticket state file, or was
+     *                     created with a different capacity
+     * @throws IllegalArgumentException if {@code capacity} is not between 1 and {@link #MAX_CAPACITY}
+     */
+    public static MappedTicketStore open(Path file, long capacity) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ".");
+        }
+        long size = HEADER_BYTES + wordCount(capacity) * Long.BYTES;
+        MappedByteBuffer buffer;
+        boolean created;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            created = channel.size() == 0;
+            if (!created && channel.size() != size) {
+                throw new IOException(file + " does not hold a ticket store with capacity " + capacity + ".");
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        if (created) {
+            // A fresh mapping is zero-filled, which is UNRELEASED for every ticket
+            WORDS.set(buffer, VERSION_OFFSET, VERSION);
+            WORDS.set(buffer, CAPACITY_OFFSET, capacity);
+            WORDS.set(buffer, RELEASED_OFFSET, 0L);
+            WORDS.setVolatile(buffer, MAGIC_OFFSET, MAGIC);
+            buffer.force();
+        } else if ((long) WORDS.get(buffer, MAGIC_OFFSET) != MAGIC
+                || (long) WORDS.get(buffer, VERSION_OFFSET) != VERSION
+                || (long) WORDS.get(buffer, CAPACITY_OFFSET) != capacity) {
+            throw new IOException(file + " is not a ticket store with capacity " + capacity
+                    + ", or was written on a machine with a different byte order.");
+        }
+
+        MappedTicketStore store = new MappedTicketStore(buffer, capacity);
+        store.recount();
+        return store;
+    }
+
+    /**
+     * Returns the number of tickets in the inventory.
+     *
+     * @return the capacity
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of tickets released so far. Tickets are released in id order,
+     * so every ticket with a lower id has left {@link TicketState#UNRELEASED}.
+     *
+     * @return the number of released tickets
+     */
+    public long getReleasedTickets() {
+        return (long) WORDS.getVolatile(buffer, RELEASED_OFFSET);
+    }
+
+    /**
+     * Returns the number of tickets that are currently available.
+     *
+     * @return the number of available tickets
+     */
+    public long getAvailableTickets() {
+        return availableTickets.sum();
+    }
+
+    /**
+     * Returns the number of tickets that have been sold.
+     *
+     * @return the number of sold tickets
+     */
+    public long getSoldTickets() {
+        return soldTickets.sum();
+    }
+
+    /**
+     * Returns the state of a ticket.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket's current state
+     * @throws IndexOutOfBoundsException if {@code ticketId} is outside the inventory
+     */
+    public TicketState getState(long ticketId) {
+        Objects.checkIndex(ticketId, capacity);
+        long word = (long) WORDS.getVolatile(buffer, offset(ticketId / TICKETS_PER_WORD));
+        return TicketState.fromCode((int) (word >>> shift(ticketId)) & 3);
+    }
+
+    /**
+     * Makes the next {@code ticketCount} unreleased tickets available, or fewer if the
+     * inventory runs out.
+     *
+     * @param ticketCount the number of tickets to release
+     * @return the number of tickets released
+     * @throws IllegalArgumentException if {@code ticketCount} is negative
+     */
+    public long release(long ticketCount) {
+        if (ticketCount < 0) {
+            throw new IllegalArgumentException("Ticket count must not be negative.");
+        }
+        releaseLock.lock();
+        try {
+            long from = getReleasedTickets();
+            long to = Math.min(capacity, from + ticketCount);
+            for (long first = from; first < to; ) {
+                long wordIndex = first / TICKETS_PER_WORD;
+                long last = Math.min(to, (wordIndex + 1) * TICKETS_PER_WORD);
+                long range = rangeMask(first, last);
+                int offset = offset(wordIndex);
+                long word;
+                long unreleased;
+                do {
+                    word = (long) WORDS.getVolatile(buffer, offset);
+                    unreleased = ~(word | word >>> 1) & range;
+                } while (!WORDS.compareAndSet(buffer, offset, word, word | unreleased));
+                availableTickets.add(Long.bitCount(unreleased));
+                first = last;
+            }
+            // Move the cursor last: after a crash in between, open() moves it past the flipped tickets
+            WORDS.setVolatile(buffer, RELEASED_OFFSET, to);
+            return to - from;
+        } finally {
+            releaseLock.unlock();
+        }
+    }
+
+    /**
+     * Claims the available ticket with the lowest id at or after the scan position and
+     * marks it {@link TicketState#SOLD}.
+     *
+     * @return the id of the claimed ticket, or {@code -1} if none is available
+     */
+    public long claimNext() {
+        long[] claimed = {-1};
+        claim(1, ticketId -> claimed[0] = ticketId);
+        return claimed[0];
+    }
+
+    /**
+     * Claims up to {@code maxTickets} available tickets and marks them {@link TicketState#SOLD}.
+     *
+     * @param maxTickets the maximum number of tickets to claim
+     * @param sink       receives the id of each claimed ticket
+     * @return the number of tickets claimed, possibly zero
+     */
+    public int claim(int maxTickets, LongConsumer sink) {
+        int claimed = 0;
+        if (availableTickets.sum() == 0) {
+            return claimed;
+        }
+        long words = wordCount(getReleasedTickets());
+        long start = scanHint.get();
+        for (long scanned = 0; scanned < words && claimed < maxTickets; scanned++) {
+            long wordIndex = (start + scanned) % words;
+            int offset = offset(wordIndex);
+            long word = (long) WORDS.getVolatile(buffer, offset);
+            long free = word & ~(word >>> 1) & LOW_BITS;
+            while (free != 0 && claimed < maxTickets) {
+                long take = lowestBits(free, maxTickets - claimed);
+                // AVAILABLE (01) to SOLD (10) flips both bits of each taken ticket
+                if (WORDS.compareAndSet(buffer, offset, word, word ^ (take | take << 1))) {
+                    int count = Long.bitCount(take);
+                    availableTickets.add(-count);
+                    soldTickets.add(count);
+                    claimed += count;
+                    scanHint.set(wordIndex);
+                    for (long bits = take; bits != 0; bits &= bits - 1) {
+                        sink.accept(wordIndex * TICKETS_PER_WORD + Long.numberOfTrailingZeros(bits) / 2);
+                    }
+                }
+                word = (long) WORDS.getVolatile(buffer, offset);
+                free = word & ~(word >>> 1) & LOW_BITS;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Puts up to {@code maxTickets} sold tickets back on sale, taking the highest sold ids
+     * first. Like {@link #claim(int, LongConsumer)} it tests a whole word at a time, so
+     * words without a sold ticket cost one read, and refunds as many tickets from a word as
+     * it needs in one compare-and-set.
+     *
+     * @param maxTickets the maximum number of tickets to refund
+     * @return the number of tickets refunded, possibly zero
+     */
+    public int refund(int maxTickets) {
+        int refunded = 0;
+        for (long wordIndex = wordCount(getReleasedTickets()) - 1; wordIndex >= 0 && refunded < maxTickets;
+             wordIndex--) {
+            int offset = offset(wordIndex);
+            long word = (long) WORDS.getVolatile(buffer, offset);
+            long sold = (word >>> 1) & ~word & LOW_BITS;
+            while (sold != 0 && refunded < maxTickets) {
+                long take = highestBits(sold, maxTickets - refunded);
+                // SOLD (10) to AVAILABLE (01) flips both bits of each refunded ticket
+                if (WORDS.compareAndSet(buffer, offset, word, word ^ (take | take << 1))) {
+                    int count = Long.bitCount(take);
+                    soldTickets.add(-count);
+                    availableTickets.add(count);
+                    refunded += count;
+                    scanHint.accumulateAndGet(wordIndex, Math::min);
+                }
+                word = (long) WORDS.getVolatile(buffer, offset);
+                sold = (word >>> 1) & ~word & LOW_BITS;
+            }
+        }
+        return refunded;
+    }
+
+    /**
+     * Atomically moves a released ticket from one state to another, for example to put a
+     * refunded ticket back on sale. Tickets leave {@link TicketState#UNRELEASED} only
+     * through {@link #release(long)}.
+     *
+     * @param ticketId the ticket id
+     * @param expected the state the ticket must currently be in
+     * @param newState the state to move the ticket to
+     * @return {@code true} if the ticket was in {@code expected} and is now in {@code newState}
+     * @throws IndexOutOfBoundsException if {@code ticketId} is outside the inventory
+     * @throws IllegalArgumentException if either state is {@link TicketState#UNRELEASED}
+     */
+    public boolean compareAndSet(long ticketId, TicketState expected, TicketState newState) {
+        Objects.checkIndex(ticketId, capacity);
+        if (expected == TicketState.UNRELEASED || newState == TicketState.UNRELEASED) {
+            throw new IllegalArgumentException("Tickets are released with release(), and cannot be unreleased.");
+        }
+        long wordIndex = ticketId / TICKETS_PER_WORD;
+        int offset = offset(wordIndex);
+        int shift = shift(ticketId);
+        long word;
+        do {
+            word = (long) WORDS.getVolatile(buffer, offset);
+            if (((word >>> shift) & 3) != expected.getCode()) {
+                return false;
+            }
+        } while (!WORDS.compareAndSet(buffer, offset, word,
+                (word & ~(3L << shift)) | ((long) newState.getCode() << shift)));
+
+        count(expected, -1);
+        count(newState, 1);
+        if (newState == TicketState.AVAILABLE) {
+            scanHint.accumulateAndGet(wordIndex, Math::min);
+        }
+        return true;
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    /**
+     * Writes all changes to the storage device. The mapping itself is released once the
+     * store is garbage collected, so the store must not be used after closing.
+     */
+    @Override
+    public void close() {
+        force();
+    }
+
+    /**
+     * Counts the states, and moves the released-ticket cursor past any tickets a release
+     * had made available before the JVM stopped and could move it.
+     */
+    private void recount() {
+        long words = wordCount(capacity);
+        long released = 0;
+        for (long i = 0; i < words; i++) {
+            long word = (long) WORDS.get(buffer, offset(i));
+            long low = word & LOW_BITS;
+            long high = (word >>> 1) & LOW_BITS;
+            availableTickets.add(Long.bitCount(low & ~high));
+            soldTickets.add(Long.bitCount(high & ~low));
+            if (word != 0) {
+                released = i * TICKETS_PER_WORD + (Long.SIZE - 1 - Long.numberOfLeadingZeros(word)) / 2 + 1;
+            }
+        }
+        if (released > getReleasedTickets()) {
+            WORDS.setVolatile(buffer, RELEASED_OFFSET, released);
+        }
+    }
+
+    private void count(TicketState state, int delta) {
+        if (state == TicketState.AVAILABLE) {
+            availableTickets.add(delta);
+        } else if (state == TicketState.SOLD) {
+            soldTickets.add(delta);
+        }
+    }
+
+    /** Returns a mask of the low state bit of tickets {@code first} to {@code last - 1}, all in one word. */
+    private static long rangeMask(long first, long last) {
+        int from = shift(first);
+        int to = shift(last - 1) + 2;
+        long mask = to == Long.SIZE ? -1L : (1L << to) - 1;
+        return mask & (-1L << from) & LOW_BITS;
+    }
+
+    /** Returns the lowest {@code count} set bits of {@code bits}. */
+    private static long lowestBits(long bits, int count) {
+        long taken = 0;
+        for (int i = 0; i < count && bits != 0; i++) {
+            long lowest = bits & -bits;
+            taken |= lowest;
+            bits ^= lowest;
+        }
+        return taken;
+    }
+
+    /** Returns the highest {@code count} set bits of {@code bits}. */
+    private static long highestBits(long bits, int count) {
+        long taken = 0;
+        for (int i = 0; i < count && bits != 0; i++) {
+            long highest = Long.highestOneBit(bits);
+            taken |= highest;
+            bits ^= highest;
+        }
+        return taken;
+    }
+
+    private static long wordCount(long tickets) {
+        return (tickets + TICKETS_PER_WORD - 1) / TICKETS_PER_WORD;
+    }
+
+    private static int shift(long ticketId) {
+        return (int) (ticketId % TICKETS_PER_WORD) * 2;
+    }
+
+    private static int offset(long wordIndex) {
+        return HEADER_BYTES + (int) wordIndex * Long.BYTES;
+    }
+}
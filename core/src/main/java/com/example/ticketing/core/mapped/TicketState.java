@@ -0,0 +1,47 @@
+package com.example.ticketing.core.mapped;
+
+/**
+ * The {@code TicketState} enum lists the states a ticket can have in a {@link MappedTicketStore}.
+ *
+ * <p>Each state is stored as a two-bit code, so the codes must stay stable once files
+ * have been written with them.
+ */
+public enum TicketState {
+    /** The ticket exists in the inventory but has not been released for sale yet. */
+    UNRELEASED(0),
+    /** The ticket has been released and can be bought. */
+    AVAILABLE(1),
+    /** The ticket has been sold. */
+    SOLD(2);
+
+    private static final TicketState[] BY_CODE = {UNRELEASED, AVAILABLE, SOLD};
+
+    private final int code;
+
+    TicketState(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Returns the two-bit code stored for this state.
+     *
+     * @return the state code
+     */
+    int getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the state stored under the given two-bit code.
+     *
+     * @param code the state code
+     * @return the matching state
+     * @throws IllegalStateException if the code is not assigned, which means the file is corrupt
+     */
+    static TicketState fromCode(int code) {
+        if (code >= BY_CODE.length) {
+            throw new IllegalStateException("Unknown ticket state code: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ticketing.core.pool;
+
+import jdk.jfr.*;
+
+/**
+ * The {@code PoolAddEvent} class is a JDK Flight Recorder event emitted for every
+ * add operation on a {@link TicketPool}.
+ *
+ * <p>
+ * The event's duration covers the whole operation, including acquiring the pool's lock,
+ * and {@link #waitDuration} isolates the part spent queued because the pool was full.
+ * Contention on the lock itself shows up in the built-in {@code jdk.ThreadPark} event.
+ * </p>
+ *
+ * @see PoolRetrieveEvent
+ */
+@Name("ticketing.PoolAdd")
+@Label("Ticket Pool Add")
+@Description("Tickets added to the ticket pool by a producer")
+@Category({"Ticketing", "Pool"})
+@StackTrace(false)
+public final class PoolAddEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Requested Tickets")
+    int requestedTickets;
+
+    @Label("Batch Size")
+    @Description("Number of tickets actually added")
+    int batchSize;
+
+    @Label("Wait Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long waitDuration;
+
+    @Label("Waits")
+    @Description("Number of times the producer parked because the pool was full")
+    int waits;
+
+    @Label("Available Tickets")
+    @Description("Tickets in the pool after the operation")
+    int availableTickets;
+}
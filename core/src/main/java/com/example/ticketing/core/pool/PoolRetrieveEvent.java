@@ -0,0 +1,49 @@
+package com.example.ticketing.core.pool;
+
+import jdk.jfr.*;
+
+/**
+ * The {@code PoolRetrieveEvent} class is a JDK Flight Recorder event emitted for every
+ * retrieve operation on a {@link TicketPool}.
+ *
+ * <p>
+ * The event's duration covers the whole operation, including acquiring the pool's lock,
+ * and {@link #waitDuration} isolates the part spent queued because too few tickets were available.
+ * Contention on the lock itself shows up in the built-in {@code jdk.ThreadPark} event.
+ * </p>
+ *
+ * @see PoolAddEvent
+ */
+@Name("ticketing.PoolRetrieve")
+@Label("Ticket Pool Retrieve")
+@Description("Tickets retrieved from the ticket pool by a consumer")
+@Category({"Ticketing", "Pool"})
+@StackTrace(false)
+public final class PoolRetrieveEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Priority Tier")
+    @Description("Tier of the customer, or empty for an opportunistic retrieval")
+    String tier;
+
+    @Label("Requested Tickets")
+    int requestedTickets;
+
+    @Label("Batch Size")
+    @Description("Number of tickets actually retrieved")
+    int batchSize;
+
+    @Label("Wait Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long waitDuration;
+
+    @Label("Waits")
+    @Description("Number of times the consumer parked because too few tickets were available")
+    int waits;
+
+    @Label("Available Tickets")
+    @Description("Tickets in the pool after the operation")
+    int availableTickets;
+}
@@ -0,0 +1,469 @@
+package com.example.ticketing.core.pool;
+
+import com.example.ticketing.core.PriorityTier;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * The {@code TicketAllocator} class holds the tickets of a pool and decides which queued
+ * producer or consumer is served next.
+ *
+ * <p>
+ * Producers are served in arrival order. Consumers carry a {@link PriorityTier} and are
+ * served by start-time fair queueing: each request is tagged with a virtual start time that
+ * advances by {@code tickets / weight} per tier, and the waiting request with the lowest tag
+ * goes next. Higher tiers therefore get a larger share of newly released tickets, while a
+ * waiting lower tier's tag stops advancing, which bounds how long it can be starved. A request
+ * that is cancelled gives its place in virtual time back, so abandoned requests never push
+ * their tier further back.
+ * </p>
+ *
+ * <p>
+ * The virtual time never passes the start tag of a queued request, so the requests queued
+ * in one tier always form an unbroken chain of tags. Only the tag of each tier's head is
+ * therefore stored; the next one follows from the head's size when it leaves, and cancelling
+ * a request closes the gap without re-tagging the requests behind it.
+ * </p>
+ *
+ * <p>
+ * The allocator never blocks and is not thread-safe. A request that cannot be served
+ * straight away is queued, and its {@code onServed} callback runs from within whichever later
+ * call serves it. {@link TicketPool} guards the allocator with a lock and signals a parked
+ * thread from the callback; the CLI's discrete-event simulation resumes a continuation on its
+ * virtual clock instead, so both follow exactly the same allocation rules.
+ * </p>
+ *
+ * @see TicketPool
+ */
+public class TicketAllocator {
+
+    /** A queued producer or consumer request. */
+    public static final class Request {
+        private final int ticketCount;
+        private final PriorityTier tier;
+        private final Runnable onServed;
+        private int granted;
+        private boolean done;
+
+        private Request(int ticketCount, PriorityTier tier, Runnable onServed) {
+            this.ticketCount = ticketCount;
+            this.tier = tier;
+            this.onServed = onServed;
+        }
+
+        private double length() {
+            return (double) ticketCount / tier.getWeight();
+        }
+
+        /**
+         * Returns whether the request was served or cancelled.
+         *
+         * @return {@code true} once the request has left the queue.
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * Returns the number of tickets handed to a consumer request: all of them once it was
+         * served, or those taken by a partial fill when it was cancelled.
+         *
+         * @return the number of tickets granted.
+         */
+        public int getGranted() {
+            return granted;
+        }
+    }
+
+    /** A linked list to store the tickets in the pool. */
+    private final LinkedList<Integer> tickets = new LinkedList<>();
+
+    /** The maximum number of tickets that the pool can hold. */
+    private final int maxTicketCapacity;
+
+    /** The current number of available tickets in the pool. */
+    private int availableTickets = 0;
+
+    /** Whether every pool operation is logged to standard output. */
+    private final boolean verbose;
+
+    /** Producers waiting for space, in arrival order. */
+    private final ArrayDeque<Request> waitingProducers = new ArrayDeque<>();
+
+    /** Consumers waiting for tickets, one queue per tier. */
+    private final Map<PriorityTier, ArrayDeque<Request>> waitingConsumers = new EnumMap<>(PriorityTier.class);
+
+    /** The finish tag of the last request queued by each tier, indexed by ordinal. */
+    private final double[] lastFinishTags = new double[PriorityTier.values().length];
+
+    /** The start tag of the request at the head of each tier's queue, indexed by ordinal. */
+    private final double[] headTags = new double[PriorityTier.values().length];
+
+    /** The start tag of the most recently served consumer. */
+    private double virtualTime = 0;
+
+    private int queuedConsumers = 0;
+
+    /** Running totals used by the headless benchmark and the simulation report. */
+    private long ticketsAdded = 0;
+    private long ticketsSold = 0;
+    private final long[] ticketsSoldByTier = new long[PriorityTier.values().length];
+    private long producerWaits = 0;
+    private long consumerWaits = 0;
+
+    /**
+     * Constructs a {@code TicketAllocator} with a specified maximum ticket capacity.
+     *
+     * @param maxTicketCapacity the maximum number of tickets the pool can hold.
+     * @param verbose           {@code true} to log every change of the pool to standard output.
+     */
+    public TicketAllocator(int maxTicketCapacity, boolean verbose) {
+        this.maxTicketCapacity = maxTicketCapacity;
+        this.verbose = verbose;
+        for (PriorityTier tier : PriorityTier.values()) {
+            waitingConsumers.put(tier, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Adds tickets if no producer is queued and they fit, and serves the consumers they unblock.
+     *
+     * @param ticketCount the number of tickets to add.
+     * @return {@code true} if the tickets were added, {@code false} if the producer has to queue.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    public boolean tryAdd(int ticketCount) {
+        checkBatchSize(ticketCount);
+        if (!waitingProducers.isEmpty() || tickets.size() + ticketCount > maxTicketCapacity) {
+            return false;
+        }
+        insert(ticketCount);
+        dispatch();
+        return true;
+    }
+
+    /**
+     * Queues a producer behind those already waiting for space.
+     *
+     * @param ticketCount the number of tickets to add.
+     * @param onServed    called once the tickets were added.
+     * @return the queued request.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    public Request queueProducer(int ticketCount, Runnable onServed) {
+        checkBatchSize(ticketCount);
+        Request request = new Request(ticketCount, null, onServed);
+        waitingProducers.addLast(request);
+        producerWaits++;
+        dispatch();
+        return request;
+    }
+
+    /**
+     * Retrieves tickets if no consumer is queued and enough are available.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param tier        the customer's priority tier.
+     * @return {@code true} if the tickets were retrieved, {@code false} if the consumer has to queue.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    public boolean tryRetrieve(int ticketCount, PriorityTier tier) {
+        checkBatchSize(ticketCount);
+        if (queuedConsumers > 0 || tickets.size() < ticketCount) {
+            return false;
+        }
+        remove(ticketCount, null);
+        ticketsSoldByTier[tier.ordinal()] += ticketCount;
+        dispatch();
+        return true;
+    }
+
+    /**
+     * Queues a consumer by start-time fair queueing. The request may be served before this
+     * method returns if it is due next and the tickets are already there.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param tier        the customer's priority tier.
+     * @param onServed    called once all the tickets were handed over.
+     * @return the queued request.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    public Request queueConsumer(int ticketCount, PriorityTier tier, Runnable onServed) {
+        checkBatchSize(ticketCount);
+        // A tier that has been idle starts at the current virtual time, a busy tier
+        // continues from where its last request finished
+        int lane = tier.ordinal();
+        double startTag = Math.max(virtualTime, lastFinishTags[lane]);
+        Request request = new Request(ticketCount, tier, onServed);
+        lastFinishTags[lane] = startTag + request.length();
+        ArrayDeque<Request> queue = waitingConsumers.get(tier);
+        if (queue.isEmpty()) {
+            headTags[lane] = startTag;
+        }
+        queue.addLast(request);
+        queuedConsumers++;
+        consumerWaits++;
+        dispatch(); // The new request may be due next and already fit
+        return request;
+    }
+
+    /**
+     * Removes a request that gave up from its queue. A consumer that accepts a partial fill
+     * and is the next one due takes the tickets that are available; any other consumer leaves
+     * with nothing, since the tickets belong to the customers ahead of it. Does nothing if the
+     * request was already served.
+     *
+     * @param request the request to cancel.
+     * @param partial {@code true} to let a consumer take a partial fill.
+     */
+    public void cancel(Request request, boolean partial) {
+        if (request.done) {
+            return;
+        }
+        request.done = true;
+        if (request.tier == null) {
+            waitingProducers.remove(request);
+        } else {
+            if (partial && request == nextConsumer() && !tickets.isEmpty()) {
+                request.granted = Math.min(tickets.size(), request.ticketCount);
+                virtualTime = Math.max(virtualTime, headTags[request.tier.ordinal()]);
+                remove(request.granted, null);
+                ticketsSoldByTier[request.tier.ordinal()] += request.granted;
+            }
+            dequeue(request);
+        }
+        dispatch(); // Requests queued behind the cancelled one may fit now
+    }
+
+    /**
+     * Moves up to {@code maxTickets} tickets into {@code sink}, or just removes them if
+     * {@code sink} is {@code null}. Queued customers are served first, so nothing is moved
+     * while any are waiting.
+     *
+     * @param sink       the collection that receives the retrieved tickets, or {@code null}.
+     * @param maxTickets the maximum number of tickets to move.
+     * @return the number of tickets moved, possibly zero.
+     */
+    public int drain(Collection<? super Integer> sink, int maxTickets) {
+        int ticketCount = queuedConsumers > 0 ? 0 : Math.min(Math.max(maxTickets, 0), tickets.size());
+        if (ticketCount > 0) {
+            remove(ticketCount, sink);
+            dispatch();
+        }
+        return ticketCount;
+    }
+
+    /**
+     * Puts back tickets that were retrieved for a customer of the given tier but could not
+     * be used. They go to the front of the pool and are handed to queued customers straight away.
+     *
+     * @param ticketCount the number of tickets to put back.
+     * @param tier        the tier the tickets were retrieved for.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the capacity.
+     */
+    public void returnTickets(int ticketCount, PriorityTier tier) {
+        checkBatchSize(ticketCount);
+        for (int i = 0; i < ticketCount; i++) {
+            tickets.addFirst(tickets.size() + 1);
+        }
+        availableTickets += ticketCount;
+        ticketsSold -= ticketCount;
+        ticketsSoldByTier[tier.ordinal()] -= ticketCount;
+        log(ticketCount + " Tickets Returned | Available Tickets: " + availableTickets);
+        dispatch();
+    }
+
+    /**
+     * Returns the current number of available tickets in the pool.
+     *
+     * @return the number of available tickets.
+     */
+    public int getAvailableTickets() {
+        return availableTickets;
+    }
+
+    /**
+     * Returns the maximum number of tickets the pool can hold.
+     *
+     * @return the maximum ticket capacity.
+     */
+    public int getMaxTicketCapacity() {
+        return maxTicketCapacity;
+    }
+
+    /**
+     * Returns the total number of tickets added.
+     *
+     * @return the number of tickets added.
+     */
+    public long getTicketsAdded() {
+        return ticketsAdded;
+    }
+
+    /**
+     * Returns the total number of tickets sold.
+     *
+     * @return the number of tickets sold.
+     */
+    public long getTicketsSold() {
+        return ticketsSold;
+    }
+
+    /**
+     * Returns the number of tickets sold to customers of the given tier. Tickets taken
+     * through {@link #drain(Collection, int)} are not included.
+     *
+     * @param tier the priority tier.
+     * @return the number of tickets sold to that tier.
+     */
+    public long getTicketsSold(PriorityTier tier) {
+        return ticketsSoldByTier[tier.ordinal()];
+    }
+
+    /**
+     * Returns how many producers had to queue because the pool was full.
+     *
+     * @return the number of producer waits.
+     */
+    public long getProducerWaits() {
+        return producerWaits;
+    }
+
+    /**
+     * Returns how many consumers had to queue because too few tickets were available.
+     *
+     * @return the number of consumer waits.
+     */
+    public long getConsumerWaits() {
+        return consumerWaits;
+    }
+
+    /**
+     * Returns the number of producers currently queued.
+     *
+     * @return the number of queued producers.
+     */
+    public int getQueuedProducers() {
+        return waitingProducers.size();
+    }
+
+    /**
+     * Returns the number of consumers currently queued.
+     *
+     * @return the number of queued consumers.
+     */
+    public int getQueuedConsumers() {
+        return queuedConsumers;
+    }
+
+    /**
+     * Removes a consumer that gave up from its tier's queue and gives back the virtual time
+     * it had reserved beyond the tickets it was granted: the tier's later requests move up by
+     * that much, so requests that time out or are interrupted never push their tier back.
+     * Timed-out requests are usually at the head of their queue, where removal is constant time.
+     */
+    private void dequeue(Request cancelled) {
+        int lane = cancelled.tier.ordinal();
+        ArrayDeque<Request> queue = waitingConsumers.get(cancelled.tier);
+        double granted = (double) cancelled.granted / cancelled.tier.getWeight();
+        if (queue.peekFirst() == cancelled) {
+            queue.pollFirst();
+            headTags[lane] += granted;
+        } else if (!queue.removeFirstOccurrence(cancelled)) {
+            return;
+        }
+        queuedConsumers--;
+        lastFinishTags[lane] -= cancelled.length() - granted;
+    }
+
+    /**
+     * Serves queued producers and consumers for as long as the pool allows, notifying
+     * exactly the requests that were served.
+     */
+    private void dispatch() {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            Request producer = waitingProducers.peekFirst();
+            if (producer != null && tickets.size() + producer.ticketCount <= maxTicketCapacity) {
+                waitingProducers.pollFirst();
+                insert(producer.ticketCount);
+                serve(producer);
+                progress = true;
+            }
+            Request consumer = nextConsumer();
+            if (consumer != null && tickets.size() >= consumer.ticketCount) {
+                int lane = consumer.tier.ordinal();
+                waitingConsumers.get(consumer.tier).pollFirst();
+                queuedConsumers--;
+                virtualTime = Math.max(virtualTime, headTags[lane]);
+                headTags[lane] += consumer.length();
+                remove(consumer.ticketCount, null);
+                ticketsSoldByTier[consumer.tier.ordinal()] += consumer.ticketCount;
+                consumer.granted = consumer.ticketCount;
+                serve(consumer);
+                progress = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the queued consumer with the lowest start tag. It is never skipped for a
+     * smaller request that would fit, which keeps large requests from starving.
+     */
+    private Request nextConsumer() {
+        Request next = null;
+        double nextTag = 0;
+        for (ArrayDeque<Request> queue : waitingConsumers.values()) {
+            Request head = queue.peekFirst();
+            if (head != null && (next == null || headTags[head.tier.ordinal()] < nextTag)) {
+                next = head;
+                nextTag = headTags[head.tier.ordinal()];
+            }
+        }
+        return next;
+    }
+
+    private static void serve(Request request) {
+        request.done = true;
+        request.onServed.run();
+    }
+
+    private void checkBatchSize(int ticketCount) {
+        if (ticketCount < 0 || ticketCount > maxTicketCapacity) {
+            throw new IllegalArgumentException("Ticket count must be between 0 and the maximum capacity of "
+                    + maxTicketCapacity + ", but was " + ticketCount + ".");
+        }
+    }
+
+    private void insert(int ticketCount) {
+        for (int i = 0; i < ticketCount; i++) {
+            tickets.add(tickets.size() + 1);
+        }
+        availableTickets += ticketCount;
+        ticketsAdded += ticketCount;
+        log("Tickets Added: " + ticketCount + " | Available Tickets: " + availableTickets);
+    }
+
+    private void remove(int ticketCount, Collection<? super Integer> sink) {
+        for (int i = 0; i < ticketCount; i++) {
+            Integer ticket = tickets.removeFirst();
+            if (sink != null) {
+                sink.add(ticket);
+            }
+        }
+        availableTickets -= ticketCount; // Update the count of available tickets
+        ticketsSold += ticketCount;
+        log(ticketCount + " Tickets Sold | Available Tickets: " + availableTickets);
+    }
+
+    private void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.ticketing.core.pool;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.TicketInventory;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code TicketPool} class is a thread-safe implementation of a pool for managing tickets.
+ * It supports producers adding tickets and consumers retrieving tickets concurrently while
+ * ensuring synchronization and maintaining a maximum capacity.
+ *
+ * <p>
+ * Callers that cannot be served immediately are queued and park on their own
+ * {@link Condition}. Whenever the pool changes, queued callers that can now be served are
+ * handed their tickets (or their space) directly and only they are woken, so no thread wakes
+ * up just to find that another one got there first. Who is served next is decided by a
+ * {@link TicketAllocator}: producers in arrival order, consumers by start-time fair queueing
+ * across their {@link PriorityTier}s. A request that times out or is interrupted gives its
+ * place in virtual time back, so abandoned requests never push their tier further back.
+ * </p>
+ *
+ * <p>
+ * Every operation emits a {@link PoolAddEvent} or {@link PoolRetrieveEvent} to JDK Flight
+ * Recorder, so a recording shows batch sizes and how long callers were parked waiting.
+ * </p>
+ */
+public class TicketPool implements TicketInventory {
+
+    /** A caller parked until the allocator has served its request. */
+    private static final class Waiter {
+        private final Condition served;
+        private TicketAllocator.Request request;
+        private long waitNanos;
+        private int waits;
+
+        private Waiter(Condition served) {
+            this.served = served;
+        }
+    }
+
+    /** Holds the tickets and decides which queued caller is served next. */
+    private final TicketAllocator allocator;
+
+    /** Whether every pool operation is logged to standard output. */
+    private final boolean verbose;
+
+    /** Guards the allocator; never held while a caller is parked. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructs a {@code TicketPool} with a specified maximum ticket capacity.
+     *
+     * @param maxTicketCapacity the maximum number of tickets the pool can hold.
+     */
+    public TicketPool(int maxTicketCapacity) {
+        this(maxTicketCapacity, true);
+    }
+
+    /**
+     * Constructs a {@code TicketPool} with a specified maximum ticket capacity.
+     *
+     * @param maxTicketCapacity the maximum number of tickets the pool can hold.
+     * @param verbose           {@code false} to suppress the per-operation console output,
+     *                          which would otherwise dominate the cost of a benchmark run.
+     */
+    public TicketPool(int maxTicketCapacity, boolean verbose) {
+        this.allocator = new TicketAllocator(maxTicketCapacity, verbose);
+        this.verbose = verbose;
+    }
+
+    /**
+     * Adds tickets to the pool up to the specified count.
+     * <p>
+     * If adding tickets exceeds the pool's maximum capacity, the method blocks
+     * until enough space becomes available.
+     * </p>
+     *
+     * @param ticketCount the number of tickets to add.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's
+     *                                  capacity, since such a batch could never fit.
+     */
+    public void addTicket(int ticketCount) throws InterruptedException {
+        add("addTicket", ticketCount, -1);
+    }
+
+    /**
+     * Adds tickets to the pool, waiting at most the given time for enough space.
+     *
+     * @param ticketCount the number of tickets to add.
+     * @param timeout     the maximum time to wait.
+     * @param unit        the unit of {@code timeout}.
+     * @return {@code true} if the tickets were added, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's capacity.
+     */
+    public boolean tryAdd(int ticketCount, long timeout, TimeUnit unit) throws InterruptedException {
+        return add("tryAdd", ticketCount, Math.max(0, unit.toNanos(timeout)));
+    }
+
+    /**
+     * Retrieves a specified number of tickets from the pool for a general customer.
+     * <p>
+     * If there are not enough tickets available in the pool, the method blocks
+     * until tickets are added by the producer.
+     * </p>
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @return the number of tickets successfully retrieved.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's
+     *                                  capacity, since the pool could never hold that many tickets.
+     */
+    public int retrieveTickets(int ticketCount) throws InterruptedException {
+        return retrieveTickets(ticketCount, PriorityTier.GENERAL);
+    }
+
+    /**
+     * Retrieves a specified number of tickets from the pool for a customer of the given tier.
+     * If there are not enough tickets available, the method blocks until the pool serves it.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param tier        the customer's priority tier.
+     * @return the number of tickets successfully retrieved.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's capacity.
+     */
+    public int retrieveTickets(int ticketCount, PriorityTier tier) throws InterruptedException {
+        return retrieve("retrieveTickets", ticketCount, tier, -1, false);
+    }
+
+    /**
+     * Retrieves a specified number of tickets for a general customer, waiting at most the
+     * given time for them. Either all {@code ticketCount} tickets are retrieved or none are.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param timeout     the maximum time to wait.
+     * @param unit        the unit of {@code timeout}.
+     * @return {@code true} if the tickets were retrieved, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's capacity.
+     */
+    public boolean tryRetrieve(int ticketCount, long timeout, TimeUnit unit) throws InterruptedException {
+        return tryRetrieve(ticketCount, PriorityTier.GENERAL, timeout, unit);
+    }
+
+    /**
+     * Retrieves a specified number of tickets for a customer of the given tier, waiting at
+     * most the given time for them. Either all {@code ticketCount} tickets are retrieved or none are.
+     *
+     * @param ticketCount the number of tickets to retrieve.
+     * @param tier        the customer's priority tier.
+     * @param timeout     the maximum time to wait.
+     * @param unit        the unit of {@code timeout}.
+     * @return {@code true} if the tickets were retrieved, {@code false} if the timeout elapsed first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's capacity.
+     */
+    public boolean tryRetrieve(int ticketCount, PriorityTier tier, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return retrieve("tryRetrieve", ticketCount, tier, Math.max(0, unit.toNanos(timeout)), false) >= 0;
+    }
+
+    /**
+     * Retrieves tickets for a customer of the given tier, waiting at most the given time for
+     * all {@code maxTickets} of them. If the time elapses first and the customer is the next
+     * one due by start-time fair queueing, it takes whatever is available; otherwise it
+     * leaves with nothing, since the tickets belong to the customers ahead of it.
+     *
+     * @param maxTickets the number of tickets wanted.
+     * @param tier       the customer's priority tier.
+     * @param timeout    the maximum time to wait for all of them.
+     * @param unit       the unit of {@code timeout}.
+     * @return the number of tickets retrieved, between zero and {@code maxTickets}.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     * @throws IllegalArgumentException if {@code maxTickets} is negative or larger than the pool's capacity.
+     */
+    public int tryRetrieveUpTo(int maxTickets, PriorityTier tier, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return Math.max(0, retrieve("tryRetrieveUpTo", maxTickets, tier, Math.max(0, unit.toNanos(timeout)), true));
+    }
+
+    /**
+     * Retrieves as many tickets as are available, up to {@code maxTickets}, without waiting.
+     * Queued customers are served first, so nothing is retrieved while any are waiting.
+     *
+     * @param maxTickets the maximum number of tickets to retrieve.
+     * @return the number of tickets retrieved, possibly zero.
+     */
+    public int retrieveUpTo(int maxTickets) {
+        return drain("retrieveUpTo", null, maxTickets);
+    }
+
+    /**
+     * Puts back tickets that were retrieved for a customer of the given tier but could not
+     * be used. They go to the front of the pool, since they were the first to be taken, and
+     * are handed to queued customers straight away.
+     *
+     * @param ticketCount the number of tickets to put back.
+     * @param tier        the tier the tickets were retrieved for.
+     * @throws IllegalArgumentException if {@code ticketCount} is negative or larger than the pool's capacity.
+     */
+    public void returnTickets(int ticketCount, PriorityTier tier) {
+        lock.lock();
+        try {
+            allocator.returnTickets(ticketCount, tier);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves up to {@code maxTickets} tickets from the pool into {@code sink} in one locked
+     * operation, without waiting. Tickets are handed over in the order they were added.
+     * Queued customers are served first, so nothing is moved while any are waiting.
+     *
+     * @param sink       the collection that receives the retrieved tickets.
+     * @param maxTickets the maximum number of tickets to move.
+     * @return the number of tickets moved, possibly zero.
+     */
+    public int drainTo(Collection<? super Integer> sink, int maxTickets) {
+        return drain("drainTo", sink, maxTickets);
+    }
+
+    /**
+     * Returns the current number of available tickets in the pool.
+     *
+     * @return the number of available tickets.
+     */
+    public int getAvailableTickets() {
+        lock.lock();
+        try {
+            return allocator.getAvailableTickets();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the maximum number of tickets the pool can hold.
+     *
+     * @return the maximum ticket capacity.
+     */
+    public int getMaxTicketCapacity() {
+        return allocator.getMaxTicketCapacity();
+    }
+
+    /**
+     * Returns the total number of tickets added since the pool was created.
+     *
+     * @return the number of tickets added.
+     */
+    public long getTicketsAdded() {
+        lock.lock();
+        try {
+            return allocator.getTicketsAdded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total number of tickets sold since the pool was created.
+     *
+     * @return the number of tickets sold.
+     */
+    public long getTicketsSold() {
+        lock.lock();
+        try {
+            return allocator.getTicketsSold();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tickets sold to customers of the given tier. Tickets taken
+     * without a tier through {@link #retrieveUpTo(int)} or {@link #drainTo(Collection, int)}
+     * are not included.
+     *
+     * @param tier the priority tier.
+     * @return the number of tickets sold to that tier.
+     */
+    public long getTicketsSold(PriorityTier tier) {
+        lock.lock();
+        try {
+            return allocator.getTicketsSold(tier);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many times a producer had to wait because the pool was full.
+     *
+     * @return the number of producer waits.
+     */
+    public long getProducerWaits() {
+        lock.lock();
+        try {
+            return allocator.getProducerWaits();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many times a consumer had to wait because too few tickets were available.
+     *
+     * @return the number of consumer waits.
+     */
+    public long getConsumerWaits() {
+        lock.lock();
+        try {
+            return allocator.getConsumerWaits();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean add(String operation, int ticketCount, long timeoutNanos) throws InterruptedException {
+        PoolAddEvent event = new PoolAddEvent();
+        event.begin();
+        lock.lock();
+        try {
+            if (allocator.tryAdd(ticketCount)) {
+                commit(event, operation, ticketCount, ticketCount, null);
+                return true;
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiter.request = allocator.queueProducer(ticketCount, waiter.served::signal);
+            log("Pool is full. Waiting for tickets to be retrieved...");
+            boolean added = await(waiter, timeoutNanos, false);
+            commit(event, operation, ticketCount, added ? ticketCount : 0, waiter);
+            return added;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves tickets through the fair queue and returns how many were retrieved, or
+     * {@code -1} if the timeout elapsed and {@code partial} was not allowed.
+     */
+    private int retrieve(String operation, int ticketCount, PriorityTier tier, long timeoutNanos, boolean partial)
+            throws InterruptedException {
+        PoolRetrieveEvent event = new PoolRetrieveEvent();
+        event.begin();
+        lock.lock();
+        try {
+            if (allocator.tryRetrieve(ticketCount, tier)) {
+                commit(event, operation, tier, ticketCount, ticketCount, null);
+                return ticketCount;
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiter.request = allocator.queueConsumer(ticketCount, tier, waiter.served::signal);
+            log("Pool is empty. Waiting for tickets to be added...");
+            boolean retrieved = await(waiter, timeoutNanos, partial);
+            int granted = waiter.request.getGranted();
+            commit(event, operation, tier, ticketCount, granted, waiter);
+            return retrieved ? ticketCount : partial ? granted : -1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int drain(String operation, Collection<? super Integer> sink, int maxTickets) {
+        PoolRetrieveEvent event = new PoolRetrieveEvent();
+        event.begin();
+        lock.lock();
+        try {
+            int ticketCount = allocator.drain(sink, maxTickets);
+            commit(event, operation, null, maxTickets, ticketCount, null);
+            return ticketCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parks the caller until the allocator has served it or the timeout elapses, in which
+     * case the request is cancelled, taking a partial fill if {@code partial} allows it.
+     * A negative timeout waits indefinitely. Must be called with the lock held.
+     */
+    private boolean await(Waiter waiter, long timeoutNanos, boolean partial) throws InterruptedException {
+        long remaining = timeoutNanos;
+        long parked = System.nanoTime();
+        try {
+            while (!waiter.request.isDone()) {
+                if (timeoutNanos < 0) {
+                    waiter.served.await();
+                } else if (remaining <= 0) {
+                    allocator.cancel(waiter.request, partial);
+                    return false;
+                } else {
+                    remaining = waiter.served.awaitNanos(remaining);
+                }
+                waiter.waits++;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            if (waiter.request.isDone()) {
+                // The request was served before the interrupt was noticed; keep the
+                // tickets rather than lose them, and leave the interrupt for the caller
+                Thread.currentThread().interrupt();
+                return true;
+            }
+            allocator.cancel(waiter.request, false);
+            throw e;
+        } finally {
+            waiter.waitNanos = System.nanoTime() - parked;
+        }
+    }
+
+    private void commit(PoolAddEvent event, String operation, int requestedTickets, int batchSize, Waiter waiter) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.requestedTickets = requestedTickets;
+            event.batchSize = batchSize;
+            event.availableTickets = allocator.getAvailableTickets();
+            if (waiter != null) {
+                event.waitDuration = waiter.waitNanos;
+                event.waits = waiter.waits;
+            }
+            event.commit();
+        }
+    }
+
+    private void commit(PoolRetrieveEvent event, String operation, PriorityTier tier,
+                        int requestedTickets, int batchSize, Waiter waiter) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.tier = tier != null ? tier.name() : null;
+            event.requestedTickets = requestedTickets;
+            event.batchSize = batchSize;
+            event.availableTickets = allocator.getAvailableTickets();
+            if (waiter != null) {
+                event.waitDuration = waiter.waitNanos;
+                event.waits = waiter.waits;
+            }
+            event.commit();
+        }
+    }
+
+    private void log(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
+    }
+
+}
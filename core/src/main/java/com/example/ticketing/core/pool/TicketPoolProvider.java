@@ -0,0 +1,21 @@
+package com.example.ticketing.core.pool;
+
+import com.example.ticketing.core.InventorySettings;
+import com.example.ticketing.core.TicketInventory;
+import com.example.ticketing.core.TicketInventoryProvider;
+
+/**
+ * The {@code TicketPoolProvider} class provides the in-memory {@link TicketPool} under the name {@code linked}.
+ */
+public class TicketPoolProvider implements TicketInventoryProvider {
+
+    @Override
+    public String getName() {
+        return "linked";
+    }
+
+    @Override
+    public TicketInventory create(InventorySettings settings) {
+        return new TicketPool(settings.maxTicketCapacity(), settings.verbose());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ticketing.core.mapped;
+
+import com.example.ticketing.core.PriorityTier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTicketInventoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void returnedTicketsAreOnSaleAgainAndSurviveARestart() throws Exception {
+        Path file = directory.resolve("tickets");
+        try (MappedTicketInventory inventory = new MappedTicketInventory(MappedTicketStore.open(file, 100), 10, false)) {
+            inventory.addTicket(10);
+            assertEquals(10, inventory.tryRetrieveUpTo(10, PriorityTier.GENERAL, 0, TimeUnit.SECONDS));
+            inventory.returnTickets(4, PriorityTier.GENERAL);
+
+            assertEquals(4, inventory.getAvailableTickets());
+            assertEquals(6, inventory.getTicketsSold());
+            assertEquals(6, inventory.getTicketsSold(PriorityTier.GENERAL));
+            assertEquals(10, inventory.getTicketsAdded());
+        }
+        try (MappedTicketInventory inventory = new MappedTicketInventory(MappedTicketStore.open(file, 100), 10, false)) {
+            assertEquals(4, inventory.getAvailableTickets());
+            assertEquals(4, inventory.retrieveUpTo(10));
+        }
+    }
+
+    @Test
+    void partialFillsNeverTakeTicketsFromACustomerWaitingAhead() throws Exception {
+        try (MappedTicketInventory inventory = inventory()) {
+            AtomicInteger waiting = new AtomicInteger();
+            Thread customer = new Thread(() -> waiting.set(retrieve(inventory, 5)));
+            customer.start();
+            awaitConsumerWaits(inventory, 1);
+
+            inventory.addTicket(3);
+            assertEquals(0, inventory.tryRetrieveUpTo(3, PriorityTier.VIP, 10, TimeUnit.MILLISECONDS));
+            assertEquals(0, inventory.retrieveUpTo(3));
+            assertEquals(3, inventory.getAvailableTickets());
+
+            inventory.addTicket(2);
+            customer.join(TimeUnit.SECONDS.toMillis(10));
+            assertEquals(5, waiting.get());
+            assertEquals(0, inventory.getTicketsSold(PriorityTier.VIP));
+        }
+    }
+
+    @Test
+    void waitingCustomersAreServedInArrivalOrder() throws Exception {
+        try (MappedTicketInventory inventory = inventory()) {
+            AtomicInteger first = new AtomicInteger(-1);
+            AtomicInteger second = new AtomicInteger(-1);
+            Thread firstCustomer = new Thread(() -> first.set(retrieve(inventory, 4)));
+            firstCustomer.start();
+            awaitConsumerWaits(inventory, 1);
+            Thread secondCustomer = new Thread(() -> second.set(retrieve(inventory, 1)));
+            secondCustomer.start();
+            awaitConsumerWaits(inventory, 2);
+
+            // Enough for the second customer, but the first one is still owed its tickets
+            inventory.addTicket(1);
+            Thread.sleep(50);
+            assertEquals(-1, first.get());
+            assertEquals(-1, second.get());
+            assertEquals(1, inventory.getAvailableTickets());
+
+            inventory.addTicket(4);
+            firstCustomer.join(TimeUnit.SECONDS.toMillis(10));
+            secondCustomer.join(TimeUnit.SECONDS.toMillis(10));
+            assertEquals(4, first.get());
+            assertEquals(1, second.get());
+            assertEquals(0, inventory.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void headOfTheQueueTakesAPartialFillWhenItsTimeRunsOut() throws Exception {
+        try (MappedTicketInventory inventory = inventory()) {
+            inventory.addTicket(3);
+            assertEquals(3, inventory.tryRetrieveUpTo(5, PriorityTier.GENERAL, 10, TimeUnit.MILLISECONDS));
+            assertFalse(inventory.tryRetrieve(1, PriorityTier.GENERAL, 10, TimeUnit.MILLISECONDS));
+            assertEquals(3, inventory.getTicketsSold(PriorityTier.GENERAL));
+        }
+    }
+
+    private MappedTicketInventory inventory() throws Exception {
+        return new MappedTicketInventory(MappedTicketStore.open(directory.resolve("tickets"), 1_000), 10, false);
+    }
+
+    private static int retrieve(MappedTicketInventory inventory, int ticketCount) {
+        try {
+            return inventory.retrieveTickets(ticketCount, PriorityTier.GENERAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static void awaitConsumerWaits(MappedTicketInventory inventory, long waits) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (inventory.getConsumerWaits() < waits) {
+            assertTrue(System.nanoTime() < deadline, "the customer never queued");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ticketing.core.mapped;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTicketStoreTest {
+
+    private static final int CAPACITY = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void claimsTheLowestReleasedTickets() throws Exception {
+        try (MappedTicketStore store = MappedTicketStore.open(directory.resolve("tickets"), CAPACITY)) {
+            assertEquals(70, store.release(70));
+            List<Long> claimed = new ArrayList<>();
+            assertEquals(30, store.claim(30, claimed::add));
+
+            for (long id = 0; id < 30; id++) {
+                assertEquals(id, claimed.get((int) id).longValue());
+                assertEquals(TicketState.SOLD, store.getState(id));
+            }
+            assertEquals(TicketState.AVAILABLE, store.getState(30));
+            assertEquals(TicketState.UNRELEASED, store.getState(70));
+            assertEquals(40, store.getAvailableTickets());
+            assertEquals(30, store.getSoldTickets());
+        }
+    }
+
+    @Test
+    void releasesStopAtTheCapacity() throws Exception {
+        try (MappedTicketStore store = MappedTicketStore.open(directory.resolve("tickets"), CAPACITY)) {
+            assertEquals(90, store.release(90));
+            assertEquals(10, store.release(90));
+            assertEquals(0, store.release(1));
+            assertEquals(CAPACITY, store.getReleasedTickets());
+            assertEquals(CAPACITY, store.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void refundedTicketIsClaimedAgain() throws Exception {
+        try (MappedTicketStore store = MappedTicketStore.open(directory.resolve("tickets"), CAPACITY)) {
+            store.release(40);
+            store.claim(40, id -> { });
+            assertTrue(store.compareAndSet(5, TicketState.SOLD, TicketState.AVAILABLE));
+            assertFalse(store.compareAndSet(5, TicketState.SOLD, TicketState.AVAILABLE));
+
+            assertEquals(5, store.claimNext());
+            assertEquals(-1, store.claimNext());
+        }
+    }
+
+    @Test
+    void refundPutsBackTheHighestSoldTicketsAcrossWords() throws Exception {
+        try (MappedTicketStore store = MappedTicketStore.open(directory.resolve("tickets"), CAPACITY)) {
+            store.release(CAPACITY);
+            store.claim(40, id -> { });
+
+            assertEquals(5, store.refund(5));
+            for (long id = 35; id < 40; id++) {
+                assertEquals(TicketState.AVAILABLE, store.getState(id));
+            }
+            assertEquals(TicketState.SOLD, store.getState(34));
+            assertEquals(35, store.getSoldTickets());
+            assertEquals(65, store.getAvailableTickets());
+
+            // Spans the word boundary at id 32 and stops once nothing is left to refund
+            assertEquals(35, store.refund(50));
+            assertEquals(0, store.getSoldTickets());
+            assertEquals(0, store.claimNext());
+        }
+    }
+
+    @Test
+    void reopeningKeepsStatesAndCounts() throws Exception {
+        Path file = directory.resolve("tickets");
+        try (MappedTicketStore store = MappedTicketStore.open(file, CAPACITY)) {
+            store.release(50);
+            store.claim(10, id -> { });
+        }
+        try (MappedTicketStore store = MappedTicketStore.open(file, CAPACITY)) {
+            assertEquals(50, store.getReleasedTickets());
+            assertEquals(40, store.getAvailableTickets());
+            assertEquals(10, store.getSoldTickets());
+            assertEquals(10, store.claimNext());
+        }
+    }
+
+    @Test
+    void reopeningRepairsACursorThatDidNotMoveBeforeACrash() throws Exception {
+        Path file = directory.resolve("tickets");
+        try (MappedTicketStore store = MappedTicketStore.open(file, CAPACITY)) {
+            store.release(40);
+        }
+        // The tickets were flipped but the JVM stopped before the release moved the cursor
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder()).putLong(0, 0), 24);
+        }
+        try (MappedTicketStore store = MappedTicketStore.open(file, CAPACITY)) {
+            assertEquals(40, store.getReleasedTickets());
+            assertEquals(10, store.release(10));
+            assertEquals(50, store.getAvailableTickets());
+            assertEquals(TicketState.AVAILABLE, store.getState(49));
+            assertEquals(TicketState.UNRELEASED, store.getState(50));
+        }
+    }
+
+    @Test
+    void refusesAFileWithADifferentCapacity() throws Exception {
+        Path file = directory.resolve("tickets");
+        MappedTicketStore.open(file, CAPACITY).close();
+        assertThrows(IOException.class, () -> MappedTicketStore.open(file, CAPACITY * 2));
+    }
+
+    @Test
+    void concurrentReleasesAndClaimsHandOutEveryTicketOnce() throws Exception {
+        int capacity = 100_000;
+        BitSet sold = new BitSet(capacity);
+        AtomicInteger duplicates = new AtomicInteger();
+        try (MappedTicketStore store = MappedTicketStore.open(directory.resolve("tickets"), capacity)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                threads.add(new Thread(() -> {
+                    while (store.release(7) > 0) {
+                        Thread.onSpinWait();
+                    }
+                }));
+                threads.add(new Thread(() -> {
+                    while (store.getSoldTickets() < capacity) {
+                        store.claim(5, id -> {
+                            synchronized (sold) {
+                                if (sold.get((int) id)) {
+                                    duplicates.incrementAndGet();
+                                }
+                                sold.set((int) id);
+                            }
+                        });
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(0, duplicates.get());
+            assertEquals(capacity, sold.cardinality());
+            assertEquals(capacity, store.getReleasedTickets());
+            assertEquals(capacity, store.getSoldTickets());
+            assertEquals(0, store.getAvailableTickets());
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.ticketing.core.pool;
+
+import com.example.ticketing.core.PriorityTier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TicketPoolTest {
+
+    private static final int VIP_CUSTOMERS = 4;
+
+    @Test
+    void generalCustomerIsServedSoonWhileVipDemandNeverStops() throws Exception {
+        TicketPool pool = new TicketPool(100, false);
+        assertTrue(vipTicketsSoldBeforeGeneral(pool) <= 2 * PriorityTier.VIP.getWeight());
+    }
+
+    @Test
+    void cancelledRequestsDoNotPushTheirTierBack() throws Exception {
+        TicketPool pool = new TicketPool(100, false);
+        for (int i = 0; i < 50; i++) {
+            assertFalse(pool.tryRetrieve(1, PriorityTier.GENERAL, 1, TimeUnit.MILLISECONDS));
+        }
+        assertTrue(vipTicketsSoldBeforeGeneral(pool) <= 2 * PriorityTier.VIP.getWeight());
+    }
+
+    @Test
+    void interruptedRequestsDoNotPushTheirTierBack() throws Exception {
+        TicketPool pool = new TicketPool(100, false);
+        for (int i = 0; i < 20; i++) {
+            Thread customer = new Thread(() -> {
+                try {
+                    pool.retrieveTickets(5, PriorityTier.GENERAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            customer.start();
+            awaitConsumerWaits(pool, i + 1);
+            customer.interrupt();
+            customer.join();
+        }
+        assertTrue(vipTicketsSoldBeforeGeneral(pool) <= 2 * PriorityTier.VIP.getWeight());
+    }
+
+    @Test
+    void queuedRequestsAreServedInFullAndNeverOversold() throws Exception {
+        TicketPool pool = new TicketPool(10, false);
+        List<Thread> customers = new ArrayList<>();
+        for (PriorityTier tier : PriorityTier.values()) {
+            for (int i = 0; i < 3; i++) {
+                Thread customer = new Thread(() -> {
+                    try {
+                        for (int batch = 0; batch < 50; batch++) {
+                            pool.retrieveTickets(3, tier);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                customers.add(customer);
+                customer.start();
+            }
+        }
+        for (int released = 0; released < 9 * 50 * 3; released++) {
+            pool.addTicket(1);
+        }
+        for (Thread customer : customers) {
+            customer.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(customer.isAlive(), "a customer was never served");
+        }
+        assertEquals(0, pool.getAvailableTickets());
+        assertEquals(pool.getTicketsAdded(), pool.getTicketsSold());
+        for (PriorityTier tier : PriorityTier.values()) {
+            assertEquals(3 * 50 * 3, pool.getTicketsSold(tier));
+        }
+    }
+
+    @Test
+    void timedOutCustomerTakesWhatIsAvailableWhenItIsDue() throws Exception {
+        TicketPool pool = new TicketPool(10, false);
+        pool.addTicket(4);
+        assertEquals(4, pool.tryRetrieveUpTo(6, PriorityTier.GENERAL, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, pool.getAvailableTickets());
+        assertEquals(4, pool.getTicketsSold(PriorityTier.GENERAL));
+        assertEquals(0, pool.tryRetrieveUpTo(6, PriorityTier.GENERAL, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void partialFillNeverTakesTicketsFromACustomerAhead() throws Exception {
+        TicketPool pool = new TicketPool(10, false);
+        Thread vip = new Thread(() -> {
+            try {
+                pool.retrieveTickets(8, PriorityTier.VIP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        vip.start();
+        awaitConsumerWaits(pool, 1);
+        pool.addTicket(5);
+        // The VIP customer queued first and is due; the general customer must leave empty-handed
+        assertEquals(0, pool.tryRetrieveUpTo(5, PriorityTier.GENERAL, 10, TimeUnit.MILLISECONDS));
+        pool.addTicket(3);
+        vip.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(vip.isAlive());
+        assertEquals(8, pool.getTicketsSold(PriorityTier.VIP));
+    }
+
+    @Test
+    void returnedTicketsGoToTheCustomerWaitingForThem() throws Exception {
+        TicketPool pool = new TicketPool(10, false);
+        pool.addTicket(6);
+        assertEquals(6, pool.retrieveTickets(6, PriorityTier.GENERAL));
+        Thread vip = new Thread(() -> {
+            try {
+                pool.retrieveTickets(4, PriorityTier.VIP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        vip.start();
+        awaitConsumerWaits(pool, 1);
+
+        pool.returnTickets(5, PriorityTier.GENERAL);
+        vip.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(vip.isAlive());
+        assertEquals(1, pool.getAvailableTickets());
+        assertEquals(1, pool.getTicketsSold(PriorityTier.GENERAL));
+        assertEquals(5, pool.getTicketsSold());
+        assertEquals(6, pool.getTicketsAdded());
+    }
+
+    @Test
+    void manyConsumersWithPartialFillsNeverWedgeThePool() throws Exception {
+        TicketPool pool = new TicketPool(5, false);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        pool.addTicket(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (PriorityTier tier : PriorityTier.values()) {
+            for (int i = 0; i < 2; i++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        while (running.get()) {
+                            pool.tryRetrieveUpTo(5, tier, 1, TimeUnit.MILLISECONDS);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(200);
+        long addedEarly = pool.getTicketsAdded();
+        Thread.sleep(500);
+        long addedLate = pool.getTicketsAdded();
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.interrupt();
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(thread.isAlive());
+        }
+        assertTrue(addedLate > addedEarly + 1000, "the pool stalled at " + addedEarly + " tickets");
+        assertEquals(pool.getTicketsAdded(), pool.getTicketsSold() + pool.getAvailableTickets());
+    }
+
+    /**
+     * Keeps {@value #VIP_CUSTOMERS} VIP customers queued at all times, queues one general
+     * customer behind them and releases tickets one at a time until the general customer is
+     * served. Returns how many tickets went to VIP customers first.
+     */
+    private static long vipTicketsSoldBeforeGeneral(TicketPool pool) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> vips = new ArrayList<>();
+        long waitsBefore = pool.getConsumerWaits();
+        for (int i = 0; i < VIP_CUSTOMERS; i++) {
+            Thread vip = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        pool.retrieveTickets(1, PriorityTier.VIP);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            vip.setDaemon(true);
+            vips.add(vip);
+            vip.start();
+        }
+        awaitConsumerWaits(pool, waitsBefore + VIP_CUSTOMERS);
+
+        Thread general = new Thread(() -> {
+            try {
+                pool.retrieveTickets(1, PriorityTier.GENERAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        general.start();
+        awaitConsumerWaits(pool, waitsBefore + VIP_CUSTOMERS + 1);
+
+        long vipBefore = pool.getTicketsSold(PriorityTier.VIP);
+        for (int released = 0; general.isAlive(); released++) {
+            assertTrue(released < 10_000, "general customer was starved");
+            pool.addTicket(1);
+            general.join(1);
+        }
+        long vipSold = pool.getTicketsSold(PriorityTier.VIP) - vipBefore;
+
+        running.set(false);
+        for (Thread vip : vips) {
+            vip.interrupt();
+            vip.join();
+        }
+        return vipSold;
+    }
+
+    private static void awaitConsumerWaits(TicketPool pool, long waits) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getConsumerWaits() < waits) {
+            assertTrue(System.nanoTime() < deadline, "customers did not queue");
+            Thread.sleep(1);
+        }
+    }
+}
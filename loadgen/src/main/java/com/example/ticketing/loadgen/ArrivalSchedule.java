@@ -0,0 +1,121 @@
+package com.example.ticketing.loadgen;
+
+/**
+ * The {@code ArrivalSchedule} interface describes the request arrival rate of an
+ * open-loop load test as a function of elapsed time.
+ *
+ * <p>
+ * The {@link LoadGenerator} asks the schedule for the rate at the current intended
+ * send time and derives the next intended send time from it. Requests are issued at
+ * those times regardless of whether earlier requests have completed, so a slow server
+ * cannot throttle the generator.
+ * </p>
+ *
+ * @see LoadGenerator
+ */
+public interface ArrivalSchedule {
+
+    /**
+     * Returns the target arrival rate at the given offset from the start of the run.
+     *
+     * @param elapsedSeconds seconds since the start of the run
+     * @return the target rate in requests per second; zero or less pauses arrivals
+     */
+    double rateAt(double elapsedSeconds);
+
+    /**
+     * Returns the total length of the schedule.
+     *
+     * @return the duration of the run in seconds
+     */
+    double durationSeconds();
+
+    /**
+     * Creates a schedule with a fixed arrival rate.
+     *
+     * @param rate            requests per second
+     * @param durationSeconds length of the run in seconds
+     * @return a constant-rate schedule
+     */
+    static ArrivalSchedule constant(double rate, double durationSeconds) {
+        return new ArrivalSchedule() {
+            @Override
+            public double rateAt(double elapsedSeconds) {
+                return rate;
+            }
+
+            @Override
+            public double durationSeconds() {
+                return durationSeconds;
+            }
+
+            @Override
+            public String toString() {
+                return "constant(" + rate + " req/s, " + durationSeconds + " s)";
+            }
+        };
+    }
+
+    /**
+     * Creates a schedule whose rate changes linearly from {@code fromRate} to
+     * {@code toRate} over the whole run.
+     *
+     * @param fromRate        requests per second at the start of the run
+     * @param toRate          requests per second at the end of the run
+     * @param durationSeconds length of the run in seconds
+     * @return a ramping schedule
+     */
+    static ArrivalSchedule ramp(double fromRate, double toRate, double durationSeconds) {
+        return new ArrivalSchedule() {
+            @Override
+            public double rateAt(double elapsedSeconds) {
+                double progress = Math.min(1.0, elapsedSeconds / durationSeconds);
+                return fromRate + (toRate - fromRate) * progress;
+            }
+
+            @Override
+            public double durationSeconds() {
+                return durationSeconds;
+            }
+
+            @Override
+            public String toString() {
+                return "ramp(" + fromRate + " -> " + toRate + " req/s, " + durationSeconds + " s)";
+            }
+        };
+    }
+
+    /**
+     * Creates a schedule that runs at {@code baseRate} except for a single window
+     * in which it jumps to {@code spikeRate}, simulating an on-sale crush.
+     *
+     * @param baseRate        requests per second outside the spike
+     * @param spikeRate       requests per second inside the spike
+     * @param spikeAtSeconds  offset at which the spike begins
+     * @param spikeSeconds    length of the spike
+     * @param durationSeconds length of the run in seconds
+     * @return a spiking schedule
+     */
+    static ArrivalSchedule spike(double baseRate, double spikeRate, double spikeAtSeconds,
+                                 double spikeSeconds, double durationSeconds) {
+        return new ArrivalSchedule() {
+            @Override
+            public double rateAt(double elapsedSeconds) {
+                boolean inSpike = elapsedSeconds >= spikeAtSeconds
+                        && elapsedSeconds < spikeAtSeconds + spikeSeconds;
+                return inSpike ? spikeRate : baseRate;
+            }
+
+            @Override
+            public double durationSeconds() {
+                return durationSeconds;
+            }
+
+            @Override
+            public String toString() {
+                return "spike(" + baseRate + " req/s, " + spikeRate + " req/s at " + spikeAtSeconds
+                        + " s for " + spikeSeconds + " s, " + durationSeconds + " s)";
+            }
+        };
+    }
+}
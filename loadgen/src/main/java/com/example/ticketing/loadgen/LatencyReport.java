@@ -0,0 +1,173 @@
+package com.example.ticketing.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code LatencyReport} class collects per-endpoint latency histograms during a
+ * load test and renders them as a percentile report.
+ *
+ * <p>
+ * Two latencies are tracked for every request:
+ * <ul>
+ *     <li><b>Response time</b> is measured from the <em>intended</em> send time given by the
+ *     {@link ArrivalSchedule}. Queueing delay caused by a stalled server is therefore included,
+ *     which avoids coordinated omission.</li>
+ *     <li><b>Service time</b> is measured from the moment the request was actually sent.</li>
+ * </ul>
+ * Values are recorded in microseconds with three significant digits. A request abandoned
+ * at its timeout is recorded with the time it was waited for and counted as a timeout.
+ *
+ * @see LoadGenerator
+ */
+public class LatencyReport {
+
+    /** How a request ended. */
+    enum Outcome {
+        /** The server answered with a 2xx status. */
+        SUCCESS,
+        /** The server answered with another status, or the request failed. */
+        ERROR,
+        /** No response arrived within the request timeout. */
+        TIMEOUT
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99, 100.0};
+
+    private final Map<LoadGenerator.Endpoint, Histogram> responseTimes = new EnumMap<>(LoadGenerator.Endpoint.class);
+    private final Map<LoadGenerator.Endpoint, Histogram> serviceTimes = new EnumMap<>(LoadGenerator.Endpoint.class);
+    private final Map<LoadGenerator.Endpoint, AtomicLong> errors = new EnumMap<>(LoadGenerator.Endpoint.class);
+    private final Map<LoadGenerator.Endpoint, AtomicLong> timeouts = new EnumMap<>(LoadGenerator.Endpoint.class);
+    private final AtomicLong scheduled = new AtomicLong();
+    private volatile long elapsedNanos;
+
+    /**
+     * Constructs an empty {@code LatencyReport} with one histogram per endpoint.
+     */
+    public LatencyReport() {
+        for (LoadGenerator.Endpoint endpoint : LoadGenerator.Endpoint.values()) {
+            responseTimes.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            serviceTimes.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new AtomicLong());
+            timeouts.put(endpoint, new AtomicLong());
+        }
+    }
+
+    /**
+     * Counts a request that the generator has scheduled for sending.
+     */
+    void recordScheduled() {
+        scheduled.incrementAndGet();
+    }
+
+    /**
+     * Records the outcome of a completed request.
+     *
+     * @param endpoint       the endpoint that was called
+     * @param intendedNanos  the {@link System#nanoTime()} at which the request should have been sent
+     * @param sentNanos      the {@link System#nanoTime()} at which the request was actually sent
+     * @param completedNanos the {@link System#nanoTime()} at which the response arrived or the request gave up
+     * @param outcome        how the request ended
+     */
+    void recordCompletion(LoadGenerator.Endpoint endpoint, long intendedNanos, long sentNanos,
+                          long completedNanos, Outcome outcome) {
+        responseTimes.get(endpoint).recordValue(toMicros(completedNanos - intendedNanos));
+        serviceTimes.get(endpoint).recordValue(toMicros(completedNanos - sentNanos));
+        switch (outcome) {
+            case ERROR -> errors.get(endpoint).incrementAndGet();
+            case TIMEOUT -> timeouts.get(endpoint).incrementAndGet();
+            default -> { }
+        }
+    }
+
+    /**
+     * Sets the wall-clock length of the run, used to compute achieved throughput.
+     *
+     * @param elapsedNanos the duration of the run in nanoseconds
+     */
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Prints the report in a human-readable table.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        responseTimes.values().forEach(total::add);
+        double seconds = elapsedNanos / 1e9;
+
+        out.println("==== Load test report ====");
+        out.printf("Scheduled requests : %d%n", scheduled.get());
+        out.printf("Completed requests : %d%n", total.getTotalCount());
+        out.printf("Timed out requests : %d%n", timeouts.values().stream().mapToLong(AtomicLong::get).sum());
+        out.printf("Elapsed            : %.2f s%n", seconds);
+        out.printf("Achieved rate      : %.1f req/s%n", seconds > 0 ? total.getTotalCount() / seconds : 0.0);
+        out.println();
+        for (LoadGenerator.Endpoint endpoint : LoadGenerator.Endpoint.values()) {
+            Histogram response = responseTimes.get(endpoint);
+            if (response.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("-- %s (%d requests, %d errors, %d timeouts)%n", endpoint, response.getTotalCount(),
+                    errors.get(endpoint).get(), timeouts.get(endpoint).get());
+            printPercentiles(out, "response", response);
+            printPercentiles(out, "service ", serviceTimes.get(endpoint));
+        }
+        if (total.getTotalCount() > 0) {
+            out.println("-- ALL");
+            printPercentiles(out, "response", total);
+        }
+    }
+
+    /**
+     * Writes the full response time distribution of every endpoint in HdrHistogram's
+     * percentile format, suitable for plotting with the HdrHistogram plotter.
+     *
+     * @param directory the directory in which one {@code .hgrm} file per endpoint is written
+     * @throws IOException if a file cannot be written
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (LoadGenerator.Endpoint endpoint : LoadGenerator.Endpoint.values()) {
+            Histogram response = responseTimes.get(endpoint);
+            if (response.getTotalCount() == 0) {
+                continue;
+            }
+            Path file = directory.resolve(endpoint.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Scale microseconds to milliseconds in the output
+                response.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void printPercentiles(PrintStream out, String label, Histogram histogram) {
+        StringBuilder line = new StringBuilder("   ").append(label).append(" ms:");
+        for (double percentile : PERCENTILES) {
+            line.append(String.format("  p%s=%.3f", formatPercentile(percentile),
+                    histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        out.println(line);
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
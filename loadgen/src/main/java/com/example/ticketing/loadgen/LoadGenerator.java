@@ -0,0 +1,397 @@
+package com.example.ticketing.loadgen;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code LoadGenerator} class drives the {@code /api/tickets} REST API with an
+ * open-loop arrival process and reports latency percentiles.
+ *
+ * <p>
+ * Requests are sent at the times dictated by an {@link ArrivalSchedule}, independent of
+ * how quickly earlier requests complete. Latency is measured from each request's intended
+ * send time, so stalls on the server show up in the percentiles instead of silently
+ * lowering the offered load (coordinated omission).
+ * </p>
+ *
+ * <p>
+ * A request that gets no response within {@code --request-timeout} seconds (default 10)
+ * is abandoned and reported as a timeout, so a stalled server cannot keep a run waiting.
+ * </p>
+ *
+ * <p>
+ * Example usage against the web application with its embedded H2 database, which the
+ * generator starts on a free port and stops when the run is over:
+ * <pre>
+ * ./mvnw -pl web,loadgen -am package -DskipTests
+ * java -jar loadgen/target/ticketing-loadgen-0.0.1-SNAPSHOT.jar \
+ *     --embedded --schedule=spike --rate=50 --spike-rate=500 --spike-at=10 --spike-length=5 \
+ *     --duration=30 --mix=available:70,purchase:30 --report-dir=target/loadgen
+ * </pre>
+ * {@code --embedded} runs the jar found in {@code web/target} unless {@code --app-jar} names
+ * one; the application logs to {@code --app-log} (default {@code target/loadgen-app.log}).
+ * Without {@code --embedded} the generator targets {@code --base-url}
+ * (default {@code http://localhost:8080}).
+ * </p>
+ *
+ * @see ArrivalSchedule
+ * @see LatencyReport
+ */
+public class LoadGenerator {
+
+    /** The REST endpoints the generator can call. */
+    public enum Endpoint {
+        START, AVAILABLE, PURCHASE
+    }
+
+    private static final String DEFAULT_BASE_URL = "http://localhost:8080";
+
+    /** Step used to advance the schedule while its rate is zero. */
+    private static final double PAUSE_STEP_SECONDS = 0.01;
+
+    /** How long to wait for in-flight requests once the schedule has ended. */
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /** How long the embedded application may take to answer its first request. */
+    private static final long STARTUP_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(120);
+
+    private final String baseUrl;
+    private final ArrivalSchedule schedule;
+    private final Map<Endpoint, Integer> mix;
+    private final int purchaseSize;
+    private final int releaseRate;
+    private final int retrievalRate;
+    private final Duration requestTimeout;
+    private final SplittableRandom random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructs a {@code LoadGenerator}.
+     *
+     * @param baseUrl        the base URL of the application, e.g. {@code http://localhost:8080}
+     * @param schedule       the arrival schedule to replay
+     * @param mix            relative weights of the endpoints to call
+     * @param purchaseSize   the number of tickets bought by each purchase request
+     * @param releaseRate    the release rate passed to {@code /start}
+     * @param retrievalRate  the retrieval rate passed to {@code /start}
+     * @param requestTimeout how long to wait for each response before counting a timeout
+     * @param seed           the seed used to pick endpoints from the mix
+     * @throws IllegalArgumentException if the mix has no positive weight or the timeout is not positive
+     */
+    public LoadGenerator(String baseUrl, ArrivalSchedule schedule, Map<Endpoint, Integer> mix,
+                         int purchaseSize, int releaseRate, int retrievalRate, Duration requestTimeout,
+                         long seed) {
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Endpoint mix must contain at least one positive weight.");
+        }
+        if (requestTimeout.isNegative() || requestTimeout.isZero()) {
+            throw new IllegalArgumentException("Request timeout must be positive.");
+        }
+        this.baseUrl = baseUrl + "/api/tickets";
+        this.schedule = schedule;
+        this.mix = new EnumMap<>(mix);
+        this.purchaseSize = purchaseSize;
+        this.releaseRate = releaseRate;
+        this.retrievalRate = retrievalRate;
+        this.requestTimeout = requestTimeout;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Entry point of the load generator. See the class documentation for the supported options.
+     *
+     * @param args command-line options in {@code --name=value} form
+     * @throws Exception if the run cannot be completed
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Process application = null;
+        String baseUrl = options.getOrDefault("base-url", DEFAULT_BASE_URL);
+        if (options.containsKey("embedded")) {
+            int port = freePort();
+            baseUrl = "http://localhost:" + port;
+            application = startEmbeddedApplication(appJar(options),
+                    Path.of(options.getOrDefault("app-log", "target/loadgen-app.log")), port, baseUrl);
+        }
+
+        try {
+            LoadGenerator generator = new LoadGenerator(
+                    baseUrl,
+                    parseSchedule(options),
+                    parseMix(options.getOrDefault("mix", "available:80,purchase:20")),
+                    Integer.parseInt(options.getOrDefault("purchase-size", "1")),
+                    Integer.parseInt(options.getOrDefault("release-rate", "10")),
+                    Integer.parseInt(options.getOrDefault("retrieval-rate", "5")),
+                    Duration.ofMillis((long) (Double.parseDouble(options.getOrDefault("request-timeout", "10")) * 1000)),
+                    Long.parseLong(options.getOrDefault("seed", "42")));
+            System.out.println("Running " + generator.schedule + " against " + baseUrl);
+
+            LatencyReport report = generator.run();
+            report.print(System.out);
+            if (options.containsKey("report-dir")) {
+                report.writeHistograms(Path.of(options.get("report-dir")));
+            }
+        } finally {
+            if (application != null) {
+                stop(application);
+            }
+        }
+    }
+
+    /**
+     * Replays the arrival schedule and waits for all outstanding requests to complete.
+     *
+     * @return the latency report of the run
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public LatencyReport run() throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        boolean startedSystem = false;
+        long start = System.nanoTime();
+        double offset = 0;
+        try {
+            while (offset < schedule.durationSeconds()) {
+                double rate = schedule.rateAt(offset);
+                if (rate <= 0) {
+                    offset += PAUSE_STEP_SECONDS;
+                    continue;
+                }
+                long intended = start + (long) (offset * 1e9);
+                parkUntil(intended);
+
+                Endpoint endpoint = nextEndpoint();
+                startedSystem |= endpoint == Endpoint.START;
+                send(client, endpoint, intended, report);
+                offset += 1.0 / rate;
+            }
+            awaitInFlight();
+            report.setElapsedNanos(System.nanoTime() - start);
+
+            if (startedSystem) {
+                client.send(post("/stop"), HttpResponse.BodyHandlers.discarding());
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to stop the ticket system: " + e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    private void send(HttpClient client, Endpoint endpoint, long intended, LatencyReport report) {
+        HttpRequest request = switch (endpoint) {
+            case START -> post("/start?releaseRate=" + releaseRate + "&retrievalRate=" + retrievalRate);
+            case AVAILABLE -> HttpRequest.newBuilder(URI.create(baseUrl + "/available"))
+                    .timeout(requestTimeout)
+                    .GET()
+                    .build();
+            case PURCHASE -> post("/purchase?count=" + purchaseSize);
+        };
+        report.recordScheduled();
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    report.recordCompletion(endpoint, intended, sent, System.nanoTime(), outcome(response, error));
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest post(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static LatencyReport.Outcome outcome(HttpResponse<?> response, Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof HttpTimeoutException) {
+            return LatencyReport.Outcome.TIMEOUT;
+        }
+        return error == null && response.statusCode() / 100 == 2
+                ? LatencyReport.Outcome.SUCCESS : LatencyReport.Outcome.ERROR;
+    }
+
+    private Endpoint nextEndpoint() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Endpoint mix is empty.");
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            System.err.println(inFlight.get() + " requests still in flight after the drain timeout.");
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * Starts the web application in its own JVM, so that it does not share heap, GC pauses or
+     * CPU time accounting with the generator, and waits until it answers.
+     */
+    private static Process startEmbeddedApplication(Path appJar, Path log, int port, String baseUrl)
+            throws IOException, InterruptedException {
+        if (log.getParent() != null) {
+            Files.createDirectories(log.getParent());
+        }
+        System.out.println("Starting " + appJar + " on port " + port + ", logging to " + log);
+        Process application = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", appJar.toString(),
+                "--server.port=" + port, "--spring.jpa.show-sql=false",
+                // Every simulated user shares one address, so per-client limits would cap the offered load
+                "--ticketing.rate-limit.enabled=false")
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tickets/available"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT_NANOS;
+        while (true) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("The application exited with code " + application.exitValue()
+                        + " before answering; see " + log + ".");
+            }
+            if (System.nanoTime() > deadline) {
+                stop(application);
+                throw new IllegalStateException("The application did not answer within "
+                        + TimeUnit.NANOSECONDS.toSeconds(STARTUP_TIMEOUT_NANOS) + " s; see " + log + ".");
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2) {
+                    return application;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static void stop(Process application) throws InterruptedException {
+        application.destroy();
+        if (!application.waitFor(30, TimeUnit.SECONDS)) {
+            application.destroyForcibly().waitFor();
+        }
+    }
+
+    private static Path appJar(Map<String, String> options) throws IOException {
+        if (options.containsKey("app-jar")) {
+            return Path.of(options.get("app-jar"));
+        }
+        Path target = Path.of("web", "target");
+        if (Files.isDirectory(target)) {
+            try (DirectoryStream<Path> jars = Files.newDirectoryStream(target, "TicketingSystemUI-*.jar")) {
+                Iterator<Path> iterator = jars.iterator();
+                if (iterator.hasNext()) {
+                    return iterator.next();
+                }
+            }
+        }
+        throw new IllegalStateException("No application jar in web/target; build the web module or pass --app-jar.");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static ArrivalSchedule parseSchedule(Map<String, String> options) {
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        double duration = Double.parseDouble(options.getOrDefault("duration", "30"));
+        String type = options.getOrDefault("schedule", "constant");
+        return switch (type) {
+            case "constant" -> ArrivalSchedule.constant(rate, duration);
+            case "ramp" -> ArrivalSchedule.ramp(rate,
+                    Double.parseDouble(options.getOrDefault("to-rate", String.valueOf(rate * 10))), duration);
+            case "spike" -> ArrivalSchedule.spike(rate,
+                    Double.parseDouble(options.getOrDefault("spike-rate", String.valueOf(rate * 10))),
+                    Double.parseDouble(options.getOrDefault("spike-at", String.valueOf(duration / 3))),
+                    Double.parseDouble(options.getOrDefault("spike-length", String.valueOf(duration / 6))),
+                    duration);
+            default -> throw new IllegalArgumentException("Unknown schedule: " + type);
+        };
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.trim().split(":");
+            mix.put(Endpoint.valueOf(weight[0].trim().toUpperCase()),
+                    weight.length > 1 ? Integer.parseInt(weight[1].trim()) : 1);
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ticketing.loadgen;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private HttpServer server;
+    private ExecutorService handlers;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/tickets/available", exchange -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(5)); // A stalled server
+                exchange.sendResponseHeaders(200, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void requestsWithoutAResponseAreReportedAsTimeouts() throws Exception {
+        LoadGenerator generator = new LoadGenerator("http://localhost:" + server.getAddress().getPort(),
+                ArrivalSchedule.constant(20, 1),
+                Map.of(LoadGenerator.Endpoint.AVAILABLE, 1),
+                1, 10, 5, Duration.ofMillis(200), 42);
+
+        long start = System.nanoTime();
+        LatencyReport report = generator.run();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4), "the run waited for the stalled server");
+
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        report.print(new PrintStream(printed, true));
+        String text = printed.toString();
+        assertTrue(text.contains("Scheduled requests : 20"), text);
+        assertTrue(text.contains("Timed out requests : 20"), text);
+        assertTrue(text.contains("-- AVAILABLE (20 requests, 0 errors, 20 timeouts)"), text);
+    }
+}
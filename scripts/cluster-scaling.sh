@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+#
+# Measures how purchase throughput scales with the number of application instances
+# sharing one inventory through the cluster profile.
+#
+#   ./mvnw -pl web,loadgen -am package -DskipTests
+#   scripts/cluster-scaling.sh [node counts...]
+#
+# For each node count (default 1 2 4) a fresh H2 file database is created and that many
+# nodes are started on consecutive ports with --spring.profiles.active=cluster. One
+# LoadGenerator per node then offers RATE purchases per second for DURATION seconds, all
+# at the same time. Throughput is the number of tickets the nodes report as sold in
+# /api/cluster/status, divided by DURATION, so failed or rejected requests do not count;
+# it is compared with the single-node run.
+# RATE should exceed what one node can serve, so each run measures capacity, and the
+# machine needs enough cores for the nodes and generators not to compete.
+
+set -euo pipefail
+
+COUNTS=${*:-1 2 4}
+RATE=${RATE:-2000}
+DURATION=${DURATION:-30}
+BASE_PORT=${BASE_PORT:-18100}
+JAR=$(ls "$(cd "$(dirname "$0")/../web/target" && pwd)"/TicketingSystemUI-*.jar | grep -v plain | head -n 1)
+LOADGEN=$(ls "$(cd "$(dirname "$0")/../loadgen/target" && pwd)"/ticketing-loadgen-*.jar | head -n 1)
+WORK=$(mktemp -d)
+PIDS=()
+
+stop_nodes() {
+    if ((${#PIDS[@]})); then
+        kill "${PIDS[@]}" 2> /dev/null || true
+        wait "${PIDS[@]}" 2> /dev/null || true
+    fi
+    PIDS=()
+}
+trap 'stop_nodes; rm -rf "$WORK"' EXIT
+
+# Starts a node on the given port against the given database and waits until it answers.
+start_node() {
+    local port=$1 db=$2 pid
+    java -jar "$JAR" --spring.profiles.active=cluster --server.port="$port" \
+        --spring.datasource.url="jdbc:h2:file:$db;AUTO_SERVER=TRUE" \
+        --ticketing.rate-limit.enabled=false > "$WORK/node-$port.log" 2>&1 &
+    pid=$!
+    PIDS+=("$pid")
+    until curl -sf -o /dev/null "http://localhost:$port/api/cluster/status"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Node on port $port exited before answering; see $WORK/node-$port.log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+sum_field() {
+    local field=$1 ports=$2 total=0 value port
+    for port in $ports; do
+        value=$(curl -sf "http://localhost:$port/api/cluster/status" | grep -o "\"$field\":[0-9]*" | cut -d: -f2)
+        total=$((total + value))
+    done
+    echo "$total"
+}
+
+baseline=""
+printf '%-6s %14s %10s %14s %14s\n' nodes "sold/s" speedup "tickets sold" "tickets taken"
+for count in $COUNTS; do
+    db="$WORK/run-$count/ticketdb"
+    ports=""
+    # The first node creates the schema; the others join once it is up
+    for ((node = 0; node < count; node++)); do
+        start_node $((BASE_PORT + node)) "$db"
+        ports+="$((BASE_PORT + node)) "
+    done
+
+    loadgens=()
+    for port in $ports; do
+        java -jar "$LOADGEN" \
+            --base-url="http://localhost:$port" --mix=purchase:1 --rate="$RATE" --duration="$DURATION" \
+            > "$WORK/loadgen-$count-$port.txt" 2>&1 &
+        loadgens+=($!)
+    done
+    wait "${loadgens[@]}"
+
+    sold=$(sum_field ticketsSold "$ports")
+    rate=$(awk -v s="$sold" -v d="$DURATION" 'BEGIN { printf "%.1f", s / d }')
+    baseline=${baseline:-$rate}
+    printf '%-6d %14s %9.2fx %14d %14d\n' "$count" "$rate" "$(awk -v r="$rate" -v b="$baseline" 'BEGIN { print (b > 0 ? r / b : 0) }')" \
+        "$sold" "$(sum_field ticketsTaken "${ports%% *}")"
+    stop_nodes
+done
@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request of the web application, before and after the
+# startup optimizations of the fast-startup Maven profile.
+#
+#   ./mvnw -Pfast-startup -pl web -am package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# "baseline" starts the extracted jar as a plain Spring Boot application.
+# "optimized" adds the AppCDS archive, the AOT-generated context and lazy
+# initialization. Each run starts the JVM, polls GET /api/tickets/available until it
+# answers, and records the elapsed wall-clock time; the median of all runs is reported.
+#
+# The optimized runs use the bean conditions that process-aot evaluated at build time with
+# the fast-startup profile, so they must keep that profile, and changing
+# ticketing.cluster.enabled or Spring Boot's auto-configuration switches (e.g.
+# spring.h2.console.enabled) for them takes a rebuild; see the fast-startup profile in
+# web/pom.xml. ticketing.rate-limit.* and ticketing.jfr.enabled are read at startup and may
+# be passed as usual.
+
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+DIR=$(cd "$(dirname "$0")/../web/target/fast-startup" && pwd)
+JAR=$(basename "$(ls "$DIR"/*.jar | head -n 1)")
+URL="http://localhost:$PORT/api/tickets/available"
+
+if [[ ! -f "$DIR/application.jsa" ]]; then
+    echo "No CDS archive in $DIR; build with -Pfast-startup first." >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the application with the given JVM and application arguments and prints the
+# milliseconds until the first request succeeds.
+time_to_first_request() {
+    local started pid elapsed
+    started=$(now_ms)
+    (cd "$DIR" && exec java "$@" --server.port="$PORT") > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited before answering a request." >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - started ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+benchmark() {
+    local name=$1
+    shift
+    local times=()
+    for ((run = 1; run <= RUNS; run++)); do
+        times+=("$(time_to_first_request "$@")")
+    done
+    printf '%-10s median %6d ms   runs: %s\n' "$name" \
+        "$(printf '%s\n' "${times[@]}" | median)" "${times[*]}"
+}
+
+echo "Time to first request over $RUNS runs ($JAR)"
+benchmark baseline -jar "$JAR"
+benchmark optimized -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar "$JAR" --spring.profiles.active=fast-startup
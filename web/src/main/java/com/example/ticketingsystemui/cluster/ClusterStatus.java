@@ -0,0 +1,17 @@
+package com.example.ticketingsystemui.cluster;
+
+/**
+ * The {@code ClusterStatus} record is a snapshot of one node's view of the shared inventory.
+ *
+ * @param nodeId        the name this node leases blocks under
+ * @param blockId       the block this node currently holds, or {@code -1}
+ * @param reservedFrom  the next ticket number this node will sell
+ * @param reservedTo    the ticket number just past this node's current reservation
+ * @param ticketsSold   the tickets sold by this node since it started
+ * @param blocksClaimed the blocks claimed by this node since it started
+ * @param ticketsTaken  the tickets handed out to all nodes, sold or still reserved
+ * @param totalTickets  the number of tickets in the event
+ */
+public record ClusterStatus(String nodeId, long blockId, long reservedFrom, long reservedTo, long ticketsSold,
+                            long blocksClaimed, long ticketsTaken, long totalTickets) {
+}
@@ -0,0 +1,254 @@
+package com.example.ticketingsystemui.cluster;
+
+import com.example.ticketingsystemui.model.InventoryLease;
+import com.example.ticketingsystemui.model.Ticket;
+import com.example.ticketingsystemui.repository.InventoryLeaseRepository;
+import com.example.ticketingsystemui.service.SalesStatistics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code LeaseManager} class lets several instances of the application sell from one
+ * inventory, configured by the {@code ticketing.cluster.*} properties.
+ *
+ * <p>The event's {@code ticketing.cluster.total-tickets} ticket numbers are split into
+ * blocks of {@code ticketing.cluster.block-size}, recorded as {@link InventoryLease} rows
+ * in the shared database. A node claims a block, takes {@code ticketing.cluster.reserve-step}
+ * numbers at a time from it with one conditional update on its own row, and sells those
+ * from memory. Purchases therefore only touch the database once per reservation, and never
+ * wait for another node. A node claims the next block when its block runs out.
+ *
+ * <p>A scheduled heartbeat renews the held lease every {@code ticketing.cluster.heartbeat-ms}
+ * milliseconds, and resets the available count of {@link SalesStatistics} to the tickets no
+ * node has taken yet plus this node's unsold reservation. Other nodes' unsold reservations,
+ * at most {@code reserve-step} tickets each, are not included. A lease that is not renewed within {@code ticketing.cluster.lease-ms} lapses
+ * and its unreserved tickets are reclaimed by the next node that needs a block. Reserved
+ * numbers are never handed out twice: a node that crashes loses at most one reservation of
+ * unsold tickets, and one that shuts down cleanly returns them. Expiry is compared against
+ * each node's own clock, so the lease time must comfortably exceed the clock skew between
+ * nodes.
+ *
+ * <p>Only the inventory is shared. Idempotency keys and rate limits are still kept in
+ * each node's memory, so a load balancer in front of the nodes must send all requests
+ * from one client address to the same node, e.g. with source-IP affinity. Otherwise a
+ * retried purchase that lands on another node buys its tickets again.
+ *
+ * <p>The manager only exists when {@code ticketing.cluster.enabled} is {@code true}, and is
+ * created eagerly so its heartbeat is registered under lazy initialization.
+ */
+@Service
+@Lazy(false)
+@ConditionalOnProperty(name = "ticketing.cluster.enabled", havingValue = "true")
+public class LeaseManager {
+
+    /** How many free or lapsed blocks are tried before a new block is claimed. */
+    private static final int CLAIM_CANDIDATES = 8;
+
+    private final InventoryLeaseRepository leaseRepository;
+    private final SalesStatistics salesStatistics;
+    private final String nodeId;
+    private final long totalTickets;
+    private final long blockSize;
+    private final int reserveStep;
+    private final long leaseMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long blockId = -1;
+    private long blockEnd;
+    private long leaseNext;
+    private long cursor;
+    private long reservedEnd;
+    private long ticketsSold;
+    private long blocksClaimed;
+    private volatile long heldBlock = -1;
+
+    /**
+     * Constructs a {@code LeaseManager}.
+     *
+     * @param leaseRepository the repository for the shared leases
+     * @param salesStatistics the in-memory statistics updated on every sale
+     * @param nodeId          the name to lease blocks under, or blank for a generated one
+     * @param totalTickets    the number of tickets in the event
+     * @param blockSize       the number of tickets per block
+     * @param reserveStep     the number of tickets taken from the held block at a time
+     * @param leaseMillis     how long a lease lasts without being renewed
+     * @throws IllegalArgumentException if a size or duration is not positive
+     */
+    @Autowired
+    public LeaseManager(InventoryLeaseRepository leaseRepository, SalesStatistics salesStatistics,
+                        @Value("${ticketing.cluster.node-id:}") String nodeId,
+                        @Value("${ticketing.cluster.total-tickets:1000000}") long totalTickets,
+                        @Value("${ticketing.cluster.block-size:10000}") long blockSize,
+                        @Value("${ticketing.cluster.reserve-step:100}") int reserveStep,
+                        @Value("${ticketing.cluster.lease-ms:15000}") long leaseMillis) {
+        if (totalTickets <= 0 || blockSize <= 0 || reserveStep <= 0 || leaseMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "Cluster ticket count, block size, reserve step and lease time must be greater than zero.");
+        }
+        this.leaseRepository = leaseRepository;
+        this.salesStatistics = salesStatistics;
+        this.nodeId = nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : nodeId;
+        this.totalTickets = totalTickets;
+        this.blockSize = blockSize;
+        this.reserveStep = reserveStep;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Sells up to {@code count} tickets from this node's lease, claiming further blocks as
+     * needed. Fewer tickets are returned once the whole event is sold out.
+     *
+     * @param count the number of tickets to sell
+     * @return the sold tickets, identified by their ticket number
+     */
+    public List<Ticket> sellTickets(int count) {
+        List<Ticket> sold = new ArrayList<>(Math.max(0, Math.min(count, reserveStep)));
+        lock.lock();
+        try {
+            while (sold.size() < count && (cursor < reservedEnd || reserve())) {
+                sold.add(new Ticket(cursor++, "SOLD"));
+            }
+            ticketsSold += sold.size();
+        } finally {
+            lock.unlock();
+        }
+        salesStatistics.recordSold(sold.size());
+        return sold;
+    }
+
+    /**
+     * Renews the held lease so other nodes do not reclaim it, and refreshes the available
+     * count of the sales statistics from the lease table.
+     */
+    @Scheduled(fixedDelayString = "${ticketing.cluster.heartbeat-ms:5000}")
+    public void heartbeat() {
+        long untaken = totalTickets - leaseRepository.countTakenTickets();
+        lock.lock();
+        try {
+            salesStatistics.resetAvailableTickets(Math.max(0, untaken) + reservedEnd - cursor);
+        } finally {
+            lock.unlock();
+        }
+
+        long block = heldBlock;
+        if (block < 0 || leaseRepository.renew(block, nodeId, System.currentTimeMillis() + leaseMillis) == 1) {
+            return;
+        }
+        // Another node reclaimed the block; tickets already reserved may still be sold
+        lock.lock();
+        try {
+            if (blockId == block) {
+                dropLease();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns this node's unsold reserved tickets to its block and gives up the lease, so
+     * another node can continue the block straight away.
+     */
+    @PreDestroy
+    public void release() {
+        lock.lock();
+        try {
+            if (blockId >= 0) {
+                leaseRepository.release(blockId, nodeId, leaseNext, cursor);
+                dropLease();
+            }
+            cursor = reservedEnd;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of this node's lease and of the shared inventory.
+     *
+     * @return the cluster status
+     */
+    public ClusterStatus status() {
+        long taken = leaseRepository.countTakenTickets();
+        lock.lock();
+        try {
+            return new ClusterStatus(nodeId, blockId, cursor, reservedEnd, ticketsSold, blocksClaimed,
+                    taken, totalTickets);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Reserves the next tickets of the held block, or of a newly claimed one. Must hold the lock. */
+    private boolean reserve() {
+        while (blockId >= 0 || claimBlock()) {
+            if (leaseNext < blockEnd) {
+                long next = Math.min(leaseNext + reserveStep, blockEnd);
+                long expiresAt = System.currentTimeMillis() + leaseMillis;
+                if (leaseRepository.advance(blockId, nodeId, leaseNext, next, expiresAt) == 1) {
+                    cursor = leaseNext;
+                    reservedEnd = next;
+                    leaseNext = next;
+                    return true;
+                }
+            }
+            // The block is used up, or another node reclaimed it
+            dropLease();
+        }
+        return false;
+    }
+
+    /** Claims a free or lapsed block, or failing that a new one. Must hold the lock. */
+    private boolean claimBlock() {
+        long now = System.currentTimeMillis();
+        for (InventoryLease lease : leaseRepository.findClaimable(now, PageRequest.of(0, CLAIM_CANDIDATES))) {
+            if (leaseRepository.claim(lease.getBlockId(), lease.getNextTicket(), nodeId, now, now + leaseMillis) == 1) {
+                hold(lease.getBlockId(), lease.getNextTicket(), lease.getEndTicket());
+                return true;
+            }
+        }
+        while (true) {
+            long next = leaseRepository.findNextBlockId();
+            long first = next * blockSize;
+            if (first >= totalTickets) {
+                return false;
+            }
+            long end = Math.min(first + blockSize, totalTickets);
+            try {
+                leaseRepository.saveAndFlush(new InventoryLease(next, first, end, nodeId, now + leaseMillis));
+                hold(next, first, end);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // Another node inserted this block first; try the one after it
+            }
+        }
+    }
+
+    private void hold(long block, long next, long end) {
+        blockId = block;
+        leaseNext = next;
+        blockEnd = end;
+        blocksClaimed++;
+        heldBlock = block;
+    }
+
+    private void dropLease() {
+        blockId = -1;
+        heldBlock = -1;
+    }
+}
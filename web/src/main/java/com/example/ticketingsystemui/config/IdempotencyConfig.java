@@ -0,0 +1,35 @@
+package com.example.ticketingsystemui.config;
+
+import com.example.ticketingsystemui.idempotency.IdempotencyCache;
+import com.example.ticketingsystemui.model.Ticket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * The {@code IdempotencyConfig} class creates the cache that lets clients retry purchases
+ * with an {@code Idempotency-Key} header without buying twice, configured by the
+ * {@code ticketing.idempotency.*} properties.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    /** Rough heap cost of a sold {@link Ticket} held in a cached response. */
+    private static final long TICKET_BYTES = 64;
+
+    /**
+     * Creates the purchase idempotency cache.
+     *
+     * @param maxEntries       the maximum number of purchase results kept
+     * @param timeToLiveMillis how long a purchase result is kept for retries
+     * @return the cache
+     */
+    @Bean
+    public IdempotencyCache<List<Ticket>> purchaseIdempotencyCache(
+            @Value("${ticketing.idempotency.max-entries:100000}") int maxEntries,
+            @Value("${ticketing.idempotency.ttl-ms:600000}") long timeToLiveMillis) {
+        return new IdempotencyCache<>(maxEntries, timeToLiveMillis, tickets -> 56 + TICKET_BYTES * tickets.size());
+    }
+}
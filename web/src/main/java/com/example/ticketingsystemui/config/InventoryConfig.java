@@ -0,0 +1,57 @@
+package com.example.ticketingsystemui.config;
+
+import com.example.ticketing.core.InventorySettings;
+import com.example.ticketing.core.TicketInventories;
+import com.example.ticketing.core.TicketInventory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * The {@code InventoryConfig} class creates the {@link TicketInventory} that gates how many
+ * tickets the web application's producers release and its consumers sell.
+ *
+ * <p>The implementation is chosen by {@code ticketing.inventory.type} (see
+ * {@link TicketInventories}), so any engine from the core module, or one added to the
+ * class path, runs behind the REST API without code changes. The inventory is closed
+ * when the context shuts down.
+ *
+ * <p>The {@code mapped} inventory keeps its tickets in a file across restarts, so it is
+ * refused with an in-memory database: after a restart it would offer tickets whose rows
+ * were lost with the database.
+ */
+@Configuration
+public class InventoryConfig {
+
+    /**
+     * Creates the ticket inventory.
+     *
+     * @param type              the inventory provider name, e.g. {@code linked} or {@code mapped}
+     * @param maxTicketCapacity the maximum number of tickets available at a time
+     * @param totalTickets      the number of tickets in the event, required by {@code mapped}
+     * @param storeFile         the file behind {@code mapped}, or blank
+     * @param datasourceUrl     the JDBC URL of the ticket database
+     * @return the inventory
+     * @throws IllegalArgumentException if {@code mapped} is combined with an in-memory database
+     */
+    @Bean
+    public TicketInventory ticketInventory(@Value("${ticketing.inventory.type:linked}") String type,
+                                           @Value("${ticketing.inventory.max-capacity:1000}") int maxTicketCapacity,
+                                           @Value("${ticketing.inventory.total-tickets:0}") long totalTickets,
+                                           @Value("${ticketing.inventory.store-file:}") String storeFile,
+                                           @Value("${spring.datasource.url:}") String datasourceUrl) {
+        if ("mapped".equalsIgnoreCase(type) && isInMemory(datasourceUrl)) {
+            throw new IllegalArgumentException("ticketing.inventory.type=mapped outlives a restart and needs a"
+                    + " persistent database, but spring.datasource.url is in-memory: " + datasourceUrl);
+        }
+        return TicketInventories.create(type, new InventorySettings(maxTicketCapacity, totalTickets,
+                storeFile.isBlank() ? null : Path.of(storeFile), false));
+    }
+
+    /** A blank URL means Spring Boot starts an embedded in-memory database. */
+    private static boolean isInMemory(String datasourceUrl) {
+        return datasourceUrl.isBlank() || datasourceUrl.contains(":mem:") || datasourceUrl.contains(":memory:");
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ticketingsystemui.config;
+
+import com.example.ticketingsystemui.ratelimit.ClientRateLimiter;
+import com.example.ticketingsystemui.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The {@code RateLimitConfig} class installs per-client rate limiting in front of the
+ * ticket and profiling APIs, configured by the {@code ticketing.rate-limit.*} properties.
+ *
+ * <p>Ordinary requests and the start/stop and profiling control endpoints get separate limiters. Idle
+ * clients are evicted in the background every {@code ticketing.rate-limit.eviction-interval-ms}
+ * milliseconds. The filter is not installed when {@code ticketing.rate-limit.enabled} is
+ * {@code false}. That is decided when the application starts rather than by a bean
+ * condition, so an AOT-processed build can still be started with rate limiting off.
+ */
+// Without a CGLIB subclass, whose constructor would not carry the @Value annotations under AOT
+@Configuration(proxyBeanMethods = false)
+@Lazy(false)
+public class RateLimitConfig {
+
+    private final boolean enabled;
+    private final ClientRateLimiter requestLimiter;
+    private final ClientRateLimiter controlLimiter;
+
+    /**
+     * Constructs a {@code RateLimitConfig}.
+     *
+     * @param enabled           whether the filter is installed
+     * @param requestsPerSecond the sustained request rate per client
+     * @param burst             the request burst per client
+     * @param controlPerSecond  the sustained rate of start/stop calls per client
+     * @param controlBurst      the burst of start/stop calls per client
+     * @param maxClients        the maximum number of clients tracked individually per limiter
+     * @param idleMillis        how long a client must be idle before it is evicted
+     */
+    public RateLimitConfig(@Value("${ticketing.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${ticketing.rate-limit.requests-per-second:50}") double requestsPerSecond,
+                           @Value("${ticketing.rate-limit.burst:100}") int burst,
+                           @Value("${ticketing.rate-limit.control-per-second:0.2}") double controlPerSecond,
+                           @Value("${ticketing.rate-limit.control-burst:2}") int controlBurst,
+                           @Value("${ticketing.rate-limit.max-clients:100000}") int maxClients,
+                           @Value("${ticketing.rate-limit.idle-ms:60000}") long idleMillis) {
+        this.enabled = enabled;
+        this.requestLimiter = new ClientRateLimiter(requestsPerSecond, burst, maxClients, idleMillis);
+        this.controlLimiter = new ClientRateLimiter(controlPerSecond, controlBurst, maxClients, idleMillis);
+    }
+
+    /**
+     * Registers the {@link RateLimitFilter} for the ticket and profiling APIs.
+     *
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter() {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(requestLimiter, controlLimiter));
+        registration.addUrlPatterns("/api/tickets/*", "/api/profiling/*");
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    /**
+     * Evicts the buckets of clients that have been idle for the configured time.
+     */
+    @Scheduled(fixedDelayString = "${ticketing.rate-limit.eviction-interval-ms:30000}")
+    public void evictIdleClients() {
+        requestLimiter.evictIdle();
+        controlLimiter.evictIdle();
+    }
+}
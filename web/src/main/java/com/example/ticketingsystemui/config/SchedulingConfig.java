@@ -0,0 +1,13 @@
+package com.example.ticketingsystemui.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * The {@code SchedulingConfig} class enables Spring's {@code @Scheduled} support,
+ * which drives background jobs such as the sold-ticket archiver.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,42 @@
+package com.example.ticketingsystemui.controller;
+
+import com.example.ticketingsystemui.cluster.ClusterStatus;
+import com.example.ticketingsystemui.cluster.LeaseManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The {@code ClusterController} class reports how this node shares the inventory with the
+ * other instances of a multi-node deployment. It only exists when
+ * {@code ticketing.cluster.enabled} is {@code true}.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "ticketing.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final LeaseManager leaseManager;
+
+    /**
+     * Constructs a {@code ClusterController} and injects the required {@link LeaseManager}.
+     *
+     * @param leaseManager the manager of this node's inventory leases
+     */
+    @Autowired
+    public ClusterController(LeaseManager leaseManager) {
+        this.leaseManager = leaseManager;
+    }
+
+    /**
+     * Retrieves this node's current lease and sales, and the tickets taken by all nodes.
+     *
+     * @return the cluster status
+     */
+    @GetMapping("/status")
+    public ClusterStatus getStatus() {
+        return leaseManager.status();
+    }
+}
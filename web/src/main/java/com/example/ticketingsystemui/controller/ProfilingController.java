@@ -0,0 +1,146 @@
+package com.example.ticketingsystemui.controller;
+
+import com.example.ticketingsystemui.service.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * The {@code ProfilingController} class provides REST API endpoints to start, stop and
+ * download JDK Flight Recorder recordings of the running backend.
+ *
+ * <p>This lets production load be profiled without restarting the application or
+ * attaching an external agent. The recording itself is managed by the
+ * {@link FlightRecorderService}.
+ *
+ * <p>Recordings contain environment variables and system properties, so the endpoints
+ * answer {@code 404 Not Found} unless the service is enabled, which it is not by default.
+ * It is enabled by {@code ticketing.jfr.enabled} at startup or at runtime through JMX (see
+ * {@link FlightRecorderService}); enable it only where the API is not reachable by
+ * untrusted clients. The endpoints share the strict rate limit of the start and stop
+ * endpoints.
+ */
+@RestController
+@RequestMapping("/api/profiling/jfr")
+public class ProfilingController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    /**
+     * Constructs a {@code ProfilingController} and injects the required {@link FlightRecorderService}.
+     *
+     * @param flightRecorderService the service that owns the recording
+     */
+    @Autowired
+    public ProfilingController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    /**
+     * Starts a flight recording.
+     *
+     * @param settings      the predefined JFR configuration to use, {@code default} or {@code profile}
+     * @param maxAgeMinutes how many minutes of history the recording keeps
+     * @return a message indicating that the recording has started
+     */
+    @PostMapping("/start")
+    public String startRecording(@RequestParam(defaultValue = "profile") String settings,
+                                 @RequestParam(defaultValue = "30") long maxAgeMinutes) {
+        try {
+            flightRecorderService.start(settings, Duration.ofMinutes(maxAgeMinutes));
+        } catch (FlightRecorderService.DisabledException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException | ParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown JFR settings: " + settings);
+        }
+        return "Flight recording started!";
+    }
+
+    /**
+     * Stops the flight recording and returns it as a {@code .jfr} file. The file is deleted
+     * from the dump directory once it has been sent.
+     *
+     * @return the recording file
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording() {
+        try {
+            return download(flightRecorderService.stop());
+        } catch (FlightRecorderService.DisabledException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a snapshot of the running flight recording as a {@code .jfr} file.
+     * The recording keeps running; the file is deleted once it has been sent.
+     *
+     * @return the snapshot file
+     */
+    @GetMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() {
+        try {
+            return download(flightRecorderService.dump());
+        } catch (FlightRecorderService.DisabledException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * Reports whether a flight recording is running.
+     *
+     * @return {@code true} if a recording is running
+     */
+    @GetMapping("/status")
+    public boolean isRecording() {
+        if (!flightRecorderService.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight recording is disabled.");
+        }
+        return flightRecorderService.isRecording();
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(Path file) throws IOException {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
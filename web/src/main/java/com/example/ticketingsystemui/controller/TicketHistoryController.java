@@ -0,0 +1,75 @@
+package com.example.ticketingsystemui.controller;
+
+import com.example.ticketingsystemui.model.TicketHistory;
+import com.example.ticketingsystemui.service.TicketArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * The {@code TicketHistoryController} class provides REST API endpoints to query
+ * sold tickets that have been archived out of the live ticket table.
+ *
+ * <p>It delegates to the {@link TicketArchiveService}, which owns the history table.
+ */
+@RestController
+@RequestMapping("/api/tickets/history")
+public class TicketHistoryController {
+
+    /** Upper bound on the page size, so one request cannot load the whole history. */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TicketArchiveService ticketArchiveService;
+
+    /**
+     * Constructs a {@code TicketHistoryController} and injects the required {@link TicketArchiveService}.
+     *
+     * @param ticketArchiveService the service responsible for the ticket history
+     */
+    @Autowired
+    public TicketHistoryController(TicketArchiveService ticketArchiveService) {
+        this.ticketArchiveService = ticketArchiveService;
+    }
+
+    /**
+     * Retrieves one page of archived tickets, oldest first.
+     *
+     * @param page the zero-based page number
+     * @param size the page size, at most 1000
+     * @return the archived tickets on that page
+     */
+    @GetMapping
+    public List<TicketHistory> getHistory(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return ticketArchiveService.findHistory(page, size);
+    }
+
+    /**
+     * Retrieves a single archived ticket.
+     *
+     * @param id the identifier the ticket had while it was live
+     * @return the archived ticket
+     */
+    @GetMapping("/{id}")
+    public TicketHistory getHistoryEntry(@PathVariable long id) {
+        return ticketArchiveService.findHistoryById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket " + id + " is not archived."));
+    }
+
+    /**
+     * Retrieves the number of archived tickets.
+     *
+     * @return the number of archived tickets
+     */
+    @GetMapping("/count")
+    public long countHistory() {
+        return ticketArchiveService.countHistory();
+    }
+}
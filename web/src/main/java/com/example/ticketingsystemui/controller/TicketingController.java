@@ -0,0 +1,262 @@
+package com.example.ticketingsystemui.controller;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.TicketInventory;
+import com.example.ticketingsystemui.cluster.LeaseManager;
+import com.example.ticketingsystemui.idempotency.IdempotencyCache;
+import com.example.ticketingsystemui.idempotency.IdempotencyStats;
+import com.example.ticketingsystemui.model.Ticket;
+import com.example.ticketingsystemui.service.SalesSnapshot;
+import com.example.ticketingsystemui.service.SalesStatistics;
+import com.example.ticketingsystemui.service.TicketExportService;
+import com.example.ticketingsystemui.service.TicketService;
+import com.example.ticketingsystemui.model.TicketProducer;
+import com.example.ticketingsystemui.model.TicketConsumer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The {@code TicketingController} class provides REST API endpoints to manage
+ * a ticketing system. It allows starting, stopping, and retrieving the current
+ * state of the system, including available tickets.
+ *
+ * <p>The controller manages ticket production and consumption by creating
+ * producer and consumer threads. It interacts with the {@link TicketService}
+ * to handle ticket operations.
+ */
+@RestController
+@RequestMapping("/api/tickets")
+public class TicketingController {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final TicketService ticketService;
+    private final TicketInventory ticketInventory;
+    private final TicketExportService ticketExportService;
+    private final SalesStatistics salesStatistics;
+    private final IdempotencyCache<List<Ticket>> purchaseIdempotencyCache;
+    private final Optional<LeaseManager> leaseManager;
+    private Thread producerThread, consumerThread;
+
+
+    /**
+     * Constructs a {@code TicketingController} and injects the required services.
+     *
+     * @param ticketService            the service responsible for managing ticket operations
+     * @param ticketInventory          the inventory that gates releases and sales
+     * @param ticketExportService      the service responsible for streaming exports
+     * @param salesStatistics          the in-memory rolling sales statistics
+     * @param purchaseIdempotencyCache the results of purchases made with an idempotency key
+     * @param leaseManager             the shared inventory leases, present in a multi-node deployment
+     */
+    @Autowired
+    public TicketingController(TicketService ticketService, TicketInventory ticketInventory,
+                               TicketExportService ticketExportService, SalesStatistics salesStatistics,
+                               IdempotencyCache<List<Ticket>> purchaseIdempotencyCache,
+                               Optional<LeaseManager> leaseManager) {
+        this.ticketService = ticketService;
+        this.ticketInventory = ticketInventory;
+        this.ticketExportService = ticketExportService;
+        this.salesStatistics = salesStatistics;
+        this.purchaseIdempotencyCache = purchaseIdempotencyCache;
+        this.leaseManager = leaseManager;
+    }
+
+    /**
+     * Starts the ticket system by initiating producer and consumer threads.
+     *
+     * <p>The producer generates tickets at the specified {@code releaseRate},
+     * and the consumer retrieves tickets at the specified {@code retrievalRate}.</p>
+     *
+     * <p>In a multi-node deployment tickets come from the shared leases rather than from
+     * producer threads, so the request is refused with {@code 409 Conflict}.</p>
+     *
+     * @param releaseRate   the rate at which tickets are released (produced)
+     * @param retrievalRate the rate at which tickets are retrieved (consumed)
+     * @return a message indicating that the ticket system has started
+     */
+    @PostMapping("/start")
+    public String startTicketSystem(@RequestParam int releaseRate, @RequestParam int retrievalRate) {
+        if (leaseManager.isPresent()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "The simulated producer and consumer are not available in a multi-node deployment.");
+        }
+        producerThread = new Thread(new TicketProducer(ticketService, ticketInventory, releaseRate));
+        consumerThread = new Thread(new TicketConsumer(ticketService, ticketInventory, retrievalRate));
+        producerThread.start();
+        consumerThread.start();
+        return "Ticket system started!";
+    }
+
+    /**
+     * Stops the ticket system by interrupting the producer and consumer threads.
+     *
+     * @return a message indicating that the ticket system has been stopped
+     */
+    @PostMapping("/stop")
+    public String stopTicketSystem() {
+        if (producerThread != null) producerThread.interrupt();
+        if (consumerThread != null) consumerThread.interrupt();
+        return "Ticket system stopped!";
+    }
+
+    /**
+     * Purchases up to {@code count} available tickets and marks them as sold.
+     *
+     * <p>The tickets are first taken from the {@link TicketInventory} without waiting, then
+     * marked as sold by {@link TicketService#retrieveTickets(int)}; any the database could
+     * not sell are returned to the inventory. Fewer tickets than requested are returned
+     * when the inventory runs short, and at most the inventory's capacity is sold per
+     * request. In a multi-node deployment the tickets are instead sold from this node's
+     * lease, see {@link LeaseManager}.</p>
+     *
+     * <p>A client that may retry should send an {@code Idempotency-Key} header. The first
+     * request with a key buys the tickets; retries with the same key, including ones sent
+     * while the first is still running, get the same tickets back without touching the
+     * inventory or the database. Reusing a key with a different {@code count} is rejected
+     * with {@code 422 Unprocessable Entity}. Keys are scoped by the client's remote address,
+     * the same identity the rate limiter uses. Both are kept in memory on each node, so in a
+     * multi-node deployment a client's requests must all reach the same node.</p>
+     *
+     * @param count          the number of tickets to purchase
+     * @param idempotencyKey the client's key for this purchase, or {@code null}
+     * @param request        the request, whose remote address scopes the key
+     * @return the tickets that were sold by this request
+     */
+    @PostMapping("/purchase")
+    public List<Ticket> purchaseTickets(@RequestParam(defaultValue = "1") int count,
+                                        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                        HttpServletRequest request) {
+        if (idempotencyKey == null) {
+            return purchase(count);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters.");
+        }
+        try {
+            return purchaseIdempotencyCache.execute(request.getRemoteAddr(), idempotencyKey, count,
+                    () -> purchase(count));
+        } catch (IdempotencyCache.KeyReusedException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+    }
+
+    private List<Ticket> purchase(int count) {
+        if (leaseManager.isPresent()) {
+            return leaseManager.get().sellTickets(count);
+        }
+        int wanted = Math.min(count, ticketInventory.getMaxTicketCapacity());
+        if (wanted <= 0) {
+            return List.of();
+        }
+        int granted;
+        try {
+            granted = ticketInventory.tryRetrieveUpTo(wanted, PriorityTier.GENERAL, 0, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Purchase was interrupted.");
+        }
+        List<Ticket> sold = List.of();
+        try {
+            sold = ticketService.retrieveTickets(granted);
+        } finally {
+            if (sold.size() < granted) {
+                ticketInventory.returnTickets(granted - sold.size(), PriorityTier.GENERAL);
+            }
+        }
+        return sold;
+    }
+
+    /**
+     * Retrieves the hit, miss and size statistics of the purchase idempotency cache.
+     *
+     * @return the current cache statistics
+     */
+    @GetMapping("/idempotency/stats")
+    public IdempotencyStats getIdempotencyStatistics() {
+        return purchaseIdempotencyCache.stats();
+    }
+
+    /**
+     * Retrieves the count of available tickets in the system.
+     *
+     * <p>This method delegates the task to {@link TicketService#countAvailableTickets()}
+     * to obtain the current number of tickets.
+     *
+     * @return the number of available tickets
+     */
+    @GetMapping("/available")
+    public long getAvailableTickets() {
+        return ticketService.countAvailableTickets();
+    }
+
+    /**
+     * Retrieves rolling sales statistics: tickets released and sold per second and minute,
+     * moving averages of the sell rate and a projected time to sell-out.
+     *
+     * <p>The figures come from in-memory counters maintained by {@link SalesStatistics},
+     * so this endpoint never touches the database.</p>
+     *
+     * @return the current sales statistics
+     */
+    @GetMapping("/stats")
+    public SalesSnapshot getSalesStatistics() {
+        return salesStatistics.snapshot();
+    }
+
+    /**
+     * Streams every ticket, or the archived sales history, as NDJSON or CSV.
+     *
+     * <p>The response is written straight from a database cursor while it is being sent,
+     * so exports of any size run in constant memory. With {@code gzip=true} the body is
+     * compressed and offered as a {@code .gz} download.</p>
+     *
+     * @param format {@code ndjson} or {@code csv}
+     * @param source {@code live} for the ticket table or {@code history} for archived tickets
+     * @param gzip   whether to compress the export
+     * @return the streaming export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(@RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(defaultValue = "live") String source,
+                                                               @RequestParam(defaultValue = "false") boolean gzip) {
+        TicketExportService.Format exportFormat;
+        TicketExportService.Source exportSource;
+        try {
+            exportFormat = TicketExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            exportSource = TicketExportService.Source.valueOf(source.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format or source.");
+        }
+
+        String filename = "tickets-" + exportSource.name().toLowerCase(Locale.ROOT) + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                ticketExportService.export(exportSource, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                ticketExportService.export(exportSource, exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : exportFormat.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(gzip ? filename + ".gz" : filename).build().toString())
+                .body(body);
+    }
+}
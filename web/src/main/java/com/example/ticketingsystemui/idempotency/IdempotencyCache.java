@@ -0,0 +1,259 @@
+package com.example.ticketingsystemui.idempotency;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@code IdempotencyCache} class remembers the result of each request made with an
+ * idempotency key, so a retried request gets the original result instead of running again.
+ *
+ * <p>The first request for a key runs its action; any request with the same key that
+ * arrives while it is still running waits for it, and later ones get the stored result
+ * straight away. A failed action is forgotten, so its retries run again. A key may only
+ * be reused with the same request parameters; anything else is a client bug and is
+ * rejected with {@link KeyReusedException}. Keys are scoped by client, so two clients that
+ * happen to pick the same key never see each other's results.
+ *
+ * <p>The cache is bounded in entries and time. It is split into {@value #SEGMENTS}
+ * segments by key hash, each with its own lock, and every segment is a segmented LRU: new
+ * keys enter a probation area and move to a protected area when they are hit, so a burst
+ * of one-off keys evicts other one-off keys rather than the ones clients are actively
+ * retrying. Entries older than the time to live are treated as absent and dropped when
+ * they are next looked up or reach the end of their area. An entry whose action is still
+ * running is never evicted or expired, since a retry arriving then must wait for it rather
+ * than run the action a second time; a segment may briefly hold more entries than its
+ * share of the capacity while they run.
+ *
+ * @param <V> the type of the cached results
+ */
+public class IdempotencyCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    /** Rough heap cost of an entry besides its key and value: map node, entry and future. */
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    /**
+     * The {@code KeyReusedException} is thrown when an idempotency key is sent again with
+     * different request parameters.
+     */
+    public static class KeyReusedException extends RuntimeException {
+        KeyReusedException(String key) {
+            super("Idempotency key '" + key + "' was already used with different request parameters.");
+        }
+    }
+
+    private static final class Entry<V> {
+        private final Object fingerprint;
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final long expiresAtNanos;
+        private long weight;
+
+        private Entry(Object fingerprint, long expiresAtNanos, long weight) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+            this.weight = weight;
+        }
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<String, Entry<V>> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        /** Returns the live entry for {@code key}, promoting it on a hit. Must hold the lock. */
+        private Entry<V> get(String key, long now) {
+            Entry<V> entry = protectedArea.get(key);
+            if (entry == null) {
+                entry = probation.remove(key);
+                if (entry == null) {
+                    return null;
+                }
+                protectedArea.put(key, entry);
+                // Demote the least recently used protected entries back to probation
+                Iterator<Map.Entry<String, Entry<V>>> oldest = protectedArea.entrySet().iterator();
+                while (protectedArea.size() > protectedCapacity) {
+                    Map.Entry<String, Entry<V>> demoted = oldest.next();
+                    oldest.remove();
+                    probation.put(demoted.getKey(), demoted.getValue());
+                }
+            }
+            if (entry.result.isDone() && now - entry.expiresAtNanos >= 0) {
+                remove(key, entry);
+                expirations.increment();
+                return null;
+            }
+            return entry;
+        }
+
+        private void put(String key, Entry<V> entry, long now) {
+            probation.put(key, entry);
+            weight += entry.weight;
+            Iterator<Map.Entry<String, Entry<V>>> oldest = probation.entrySet().iterator();
+            while (probation.size() + protectedArea.size() > capacity && oldest.hasNext()) {
+                Map.Entry<String, Entry<V>> evicted = oldest.next();
+                if (!evicted.getValue().result.isDone()) {
+                    continue; // Still running, and retries may be waiting for it
+                }
+                oldest.remove();
+                weight -= evicted.getValue().weight;
+                if (now - evicted.getValue().expiresAtNanos >= 0) {
+                    expirations.increment();
+                } else {
+                    evictions.increment();
+                }
+            }
+        }
+
+        private void remove(String key, Entry<V> entry) {
+            if (probation.remove(key, entry) || protectedArea.remove(key, entry)) {
+                weight -= entry.weight;
+            }
+        }
+    }
+
+    private final List<Segment> segments = new ArrayList<>(SEGMENTS);
+    private final int capacity;
+    private final int protectedCapacity;
+    private final long timeToLiveNanos;
+    private final ToLongFunction<V> weigher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Constructs an {@code IdempotencyCache}.
+     *
+     * @param maxEntries       the maximum number of results kept
+     * @param timeToLiveMillis how long a result is kept after its key was first used
+     * @param weigher          estimates the heap used by a result, in bytes
+     * @throws IllegalArgumentException if {@code maxEntries} or {@code timeToLiveMillis} is not positive
+     */
+    public IdempotencyCache(int maxEntries, long timeToLiveMillis, ToLongFunction<V> weigher) {
+        if (maxEntries <= 0 || timeToLiveMillis <= 0) {
+            throw new IllegalArgumentException("Cache size and time to live must be greater than zero.");
+        }
+        this.capacity = Math.max(1, maxEntries / SEGMENTS);
+        this.protectedCapacity = Math.max(1, capacity * 4 / 5);
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        this.weigher = weigher;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new Segment());
+        }
+    }
+
+    /**
+     * Runs {@code action} for the first request with {@code key} from {@code client}, and
+     * returns its result for that and every later request with the same key from the same
+     * client while the result is cached.
+     *
+     * @param client      identifies the client, e.g. its remote address
+     * @param key         the idempotency key sent by the client
+     * @param fingerprint the request parameters the key must be reused with, compared with {@code equals}
+     * @param action      the operation to run at most once per key
+     * @return the result of the first request with this key
+     * @throws KeyReusedException if the key was already used with a different fingerprint
+     */
+    public V execute(String client, String key, Object fingerprint, Supplier<V> action) {
+        String scopedKey = client + '\n' + key;
+        Segment segment = segments.get((scopedKey.hashCode() & 0x7fffffff) % SEGMENTS);
+        while (true) {
+            long now = System.nanoTime();
+            Entry<V> entry;
+            boolean owner = false;
+            segment.lock.lock();
+            try {
+                entry = segment.get(scopedKey, now);
+                if (entry == null) {
+                    entry = new Entry<>(fingerprint, now + timeToLiveNanos,
+                            ENTRY_OVERHEAD_BYTES + 40 + 2L * scopedKey.length());
+                    segment.put(scopedKey, entry, now);
+                    owner = true;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+
+            if (!Objects.equals(entry.fingerprint, fingerprint)) {
+                throw new KeyReusedException(key);
+            }
+            if (owner) {
+                misses.increment();
+                return run(segment, scopedKey, entry, action);
+            }
+            try {
+                V result = entry.result.join();
+                hits.increment();
+                return result;
+            } catch (CompletionException e) {
+                // The original failed and was forgotten; run this request as a fresh one
+            }
+        }
+    }
+
+    private V run(Segment segment, String key, Entry<V> entry, Supplier<V> action) {
+        V result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            segment.lock.lock();
+            try {
+                segment.remove(key, entry);
+            } finally {
+                segment.lock.unlock();
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+        segment.lock.lock();
+        try {
+            long valueWeight = weigher.applyAsLong(result);
+            if (segment.probation.get(key) == entry || segment.protectedArea.get(key) == entry) {
+                segment.weight += valueWeight;
+            }
+            entry.weight += valueWeight;
+        } finally {
+            segment.lock.unlock();
+        }
+        entry.result.complete(result);
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the cache's counters and size.
+     *
+     * @return the cache statistics
+     */
+    public IdempotencyStats stats() {
+        int entries = 0;
+        long bytes = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                entries += segment.probation.size() + segment.protectedArea.size();
+                bytes += segment.weight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new IdempotencyStats(hitCount, missCount, requests == 0 ? 0 : (double) hitCount / requests,
+                evictions.sum(), expirations.sum(), entries, bytes);
+    }
+}
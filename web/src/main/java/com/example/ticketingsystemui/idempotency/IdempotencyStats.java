@@ -0,0 +1,16 @@
+package com.example.ticketingsystemui.idempotency;
+
+/**
+ * The {@code IdempotencyStats} record is a snapshot of an {@link IdempotencyCache}'s counters.
+ *
+ * @param hits           requests answered from the cache, including ones that waited for an in-flight original
+ * @param misses         requests that were executed
+ * @param hitRate        {@code hits / (hits + misses)}, or {@code 0} before the first request
+ * @param evictions      entries dropped to stay within the size bound
+ * @param expirations    entries dropped because they outlived their time to live
+ * @param entries        entries currently cached
+ * @param estimatedBytes an estimate of the heap used by the cached keys and results
+ */
+public record IdempotencyStats(long hits, long misses, double hitRate, long evictions, long expirations,
+                               int entries, long estimatedBytes) {
+}
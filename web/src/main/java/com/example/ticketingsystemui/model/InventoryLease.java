@@ -0,0 +1,98 @@
+package com.example.ticketingsystemui.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The {@code InventoryLease} class represents a contiguous block of ticket numbers that
+ * instances of a multi-node deployment lease from each other through the shared database.
+ *
+ * <p> Block {@code n} covers ticket numbers {@code [n * blockSize, (n + 1) * blockSize)},
+ * the last block being cut short at the size of the event.
+ * Tickets below {@link #getNextTicket() nextTicket} have been handed to an owner and are
+ * never handed out again. A block is free to claim when it has no owner, or when its
+ * owner stopped renewing the lease before {@link #getExpiresAt() expiresAt}.</p>
+ *
+ * <p> Rows are inserted once, when a block is first claimed, and afterwards only changed
+ * by the conditional updates in
+ * {@link com.example.ticketingsystemui.repository.InventoryLeaseRepository}.</p>
+ */
+@Getter
+@Entity
+@Table(name = "inventory_lease")
+public class InventoryLease implements Persistable<Long> {
+
+    /**
+     * The block number.
+     */
+    @Id
+    private Long blockId;
+
+    /**
+     * The first ticket number in the block.
+     */
+    private long firstTicket;
+
+    /**
+     * The ticket number just past the block.
+     */
+    private long endTicket;
+
+    /**
+     * The lowest ticket number not yet handed to an owner.
+     */
+    private long nextTicket;
+
+    /**
+     * The node currently holding the lease, or {@code null}.
+     */
+    private String owner;
+
+    /**
+     * The epoch millisecond at which the lease lapses unless renewed.
+     */
+    private long expiresAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public InventoryLease() {}
+
+    /**
+     * Constructs an {@code InventoryLease} for a block claimed for the first time.
+     * @param blockId     the block number
+     * @param firstTicket the first ticket number in the block
+     * @param endTicket   the ticket number just past the block
+     * @param owner       the node claiming the block
+     * @param expiresAt   the epoch millisecond at which the lease lapses
+     */
+    public InventoryLease(long blockId, long firstTicket, long endTicket, String owner, long expiresAt) {
+        this.blockId = blockId;
+        this.firstTicket = firstTicket;
+        this.endTicket = endTicket;
+        this.nextTicket = firstTicket;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Leases are always inserted, never merged, so two nodes claiming the same new block
+     * collide on the primary key instead of overwriting each other.
+     *
+     * @return always {@code true}
+     */
+    @Override
+    @Transient
+    @JsonIgnore
+    public boolean isNew() {
+        return true;
+    }
+
+    @Override
+    @JsonIgnore
+    public Long getId() {
+        return blockId;
+    }
+}
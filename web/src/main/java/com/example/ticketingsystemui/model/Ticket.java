@@ -12,6 +12,7 @@ import lombok.Setter;
 
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_ticket_status", columnList = "status"))
 public class Ticket {
 
     /**
@@ -42,4 +43,15 @@ public class Ticket {
         this.status = status;
     }
 
+    /**
+     * Constructs a {@code Ticket} with a known number, e.g. one sold from a cluster lease
+     * rather than taken from the ticket table.
+     * @param id     the ticket number
+     * @param status the status of the ticket
+     */
+    public Ticket(Long id, String status) {
+        this.id = id;
+        this.status = status;
+    }
+
 }
@@ -0,0 +1,61 @@
+package com.example.ticketingsystemui.model;
+
+import com.example.ticketing.core.PriorityTier;
+import com.example.ticketing.core.TicketInventory;
+import com.example.ticketingsystemui.service.TicketService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TicketConsumer} class represents a consumer that retrieves tickets
+ * from the ticketing system at a specified retrieval rate.
+ *
+ * <p>This class implements the {@link Runnable} interface to allow it to run in a separate thread.
+ * Tickets are taken from the {@link TicketInventory} before they are marked as sold, waiting
+ * up to one cycle for a full batch and otherwise taking whatever is available in turn.
+ * Tickets taken from the inventory that could not be marked as sold are returned to it.
+ */
+public class TicketConsumer implements Runnable {
+    private final TicketService ticketService;
+    private final TicketInventory ticketInventory;
+    private final int customerRetrievalRate;
+
+    /**
+     * Constructs a {@code TicketConsumer} with a reference to the ticket service
+     * and a retrieval rate.
+     *
+     * @param ticketService        the service for ticket operations
+     * @param ticketInventory      the inventory tickets are taken from before they are sold
+     * @param customerRetrievalRate the rate at which tickets are retrieved
+     */
+    public TicketConsumer(TicketService ticketService, TicketInventory ticketInventory, int customerRetrievalRate) {
+        this.ticketService = ticketService;
+        this.ticketInventory = ticketInventory;
+        this.customerRetrievalRate = customerRetrievalRate;
+    }
+
+    /**
+     * Runs the consumer thread to review tickets ata regular interval.
+     */
+    @Override
+    public void run() {
+        int batchSize = Math.min(customerRetrievalRate, ticketInventory.getMaxTicketCapacity());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                int granted = ticketInventory.tryRetrieveUpTo(batchSize, PriorityTier.GENERAL, 3, TimeUnit.SECONDS);
+                int sold = 0;
+                try {
+                    sold = ticketService.retrieveTickets(granted).size();
+                } finally {
+                    if (sold < granted) {
+                        ticketInventory.returnTickets(granted - sold, PriorityTier.GENERAL);
+                    }
+                }
+                System.out.println("Retrieved " + sold + " tickets.");
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ticketingsystemui.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * The {@code TicketHistory} class represents a sold ticket that has been moved out of the
+ * live {@link Ticket} table.
+ *
+ * <p> Rows are only ever inserted, never updated, so the table is append-only.
+ * The identifier is the one the ticket had while it was live.</p>
+ */
+@Getter
+@Entity
+@Table(name = "ticket_history")
+public class TicketHistory implements Persistable<Long> {
+
+    /**
+     * The identifier the ticket had in the live table.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * The final status of the ticket, e.g. "SOLD".
+     */
+    private String status;
+
+    /**
+     * The moment the ticket was moved to the history table.
+     */
+    private Instant archivedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public TicketHistory() {}
+
+    /**
+     * Constructs a {@code TicketHistory} entry from a live ticket.
+     * @param ticket     the ticket being archived
+     * @param archivedAt the moment of archiving
+     */
+    public TicketHistory(Ticket ticket, Instant archivedAt) {
+        this.id = ticket.getId();
+        this.status = ticket.getStatus();
+        this.archivedAt = archivedAt;
+    }
+
+    /**
+     * History rows are always inserted, never merged, which saves a lookup per archived ticket.
+     *
+     * @return always {@code true}
+     */
+    @Override
+    @Transient
+    @JsonIgnore
+    public boolean isNew() {
+        return true;
+    }
+}
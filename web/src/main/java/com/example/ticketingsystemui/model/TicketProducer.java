@@ -1,5 +1,6 @@
 package com.example.ticketingsystemui.model;
 
+import com.example.ticketing.core.TicketInventory;
 import com.example.ticketingsystemui.service.TicketService;
 
 /**
@@ -9,7 +10,10 @@ import com.example.ticketingsystemui.service.TicketService;
  *
  * <p>
  * The producer relies on {@link TicketService} to interact with the ticket storage
- * and updates the ticket pool with new tickets marked as "AVAILABLE".
+ * and updates the ticket pool with new tickets marked as "AVAILABLE". Each batch is saved
+ * first and only then added to the {@link TicketInventory}, so the inventory never offers a
+ * ticket the database does not have, and production pauses while the inventory is full.
+ * A batch that cannot be added is withdrawn from the database again.
  * </p>
  *
  * <p>
@@ -28,6 +32,9 @@ public class TicketProducer implements Runnable {
     /** The service used to produce and save tickets into the database. */
     private final TicketService ticketService;
 
+    /** The inventory that limits how many released tickets may be unsold at a time. */
+    private final TicketInventory ticketInventory;
+
     /** The rate at which tickets are produced during each cycle. */
     private final int ticketReleaseRate;
 
@@ -36,12 +43,14 @@ public class TicketProducer implements Runnable {
      * and ticket production rate.
      *
      * @param ticketService      The {@link TicketService} used to handle ticket creation.
+     * @param ticketInventory    The {@link TicketInventory} each batch is added to once it is saved.
      * @param ticketReleaseRate  The number of tickets to produce per cycle.
      * @throws IllegalArgumentException if the provided {@code ticketReleaseRate} is zero or negative.
      */
 
-    public TicketProducer(TicketService ticketService, int ticketReleaseRate) {
+    public TicketProducer(TicketService ticketService, TicketInventory ticketInventory, int ticketReleaseRate) {
         this.ticketService = ticketService;
+        this.ticketInventory = ticketInventory;
         this.ticketReleaseRate = ticketReleaseRate;
     }
 
@@ -58,17 +67,30 @@ public class TicketProducer implements Runnable {
 
     @Override
     public void run() {
+        int batchSize = Math.min(ticketReleaseRate, ticketInventory.getMaxTicketCapacity());
         while (!Thread.currentThread().isInterrupted()) {
-            /** Produce the specified number of tickets*/
-            ticketService.produceTickets(ticketReleaseRate);
-            System.out.println("Produced " + ticketReleaseRate + " tickets.");
-
-            /**Pause for 3 seconds to simulate real time ticket generation.*/
             try {
+                /** Save the tickets first, so every ticket the inventory hands out exists in the database*/
+                ticketService.produceTickets(batchSize);
+                try {
+                    /** Wait for room in the inventory, then put the saved tickets on sale*/
+                    ticketInventory.addTicket(batchSize);
+                } catch (InterruptedException | RuntimeException e) {
+                    /** The batch never reached the inventory, so take it off sale again*/
+                    ticketService.withdrawTickets(batchSize);
+                    throw e;
+                }
+                System.out.println("Produced " + batchSize + " tickets.");
+
+                /**Pause for 3 seconds to simulate real time ticket generation.*/
                 Thread.sleep(3000);
             } catch (InterruptedException e) {
                 /** Gracefully handle thread interruption and exit the loop.*/
                 Thread.currentThread().interrupt();
+            } catch (IllegalStateException e) {
+                /** The inventory has released every ticket of the event.*/
+                System.out.println("Ticket production finished: " + e.getMessage());
+                break;
             }
         }
     }
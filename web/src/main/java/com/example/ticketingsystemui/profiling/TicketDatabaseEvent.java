@@ -0,0 +1,32 @@
+package com.example.ticketingsystemui.profiling;
+
+import jdk.jfr.*;
+
+/**
+ * The {@code TicketDatabaseEvent} class is a JDK Flight Recorder event emitted for every
+ * database operation performed by {@link com.example.ticketingsystemui.service.TicketService}.
+ *
+ * <p>
+ * The event's duration covers the repository calls, including JPA flushes, so a recording
+ * separates time spent in the database from time spent elsewhere in the request.
+ * </p>
+ */
+@Name("ticketing.Database")
+@Label("Ticket Database Operation")
+@Description("A TicketService operation against the ticket repository")
+@Category({"Ticketing", "Database"})
+@StackTrace(false)
+public final class TicketDatabaseEvent extends Event {
+
+    /** The name of the {@code TicketService} method. */
+    @Label("Operation")
+    public String operation;
+
+    /** The number of tickets the caller asked for. */
+    @Label("Requested Tickets")
+    public int requestedTickets;
+
+    /** The number of rows written, or counted for read-only operations. */
+    @Label("Affected Rows")
+    public long affectedRows;
+}
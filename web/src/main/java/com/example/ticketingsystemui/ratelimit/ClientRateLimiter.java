@@ -0,0 +1,119 @@
+package com.example.ticketingsystemui.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code ClientRateLimiter} class limits each client to a steady request rate with a
+ * bounded burst, using one {@link TokenBucket} per client.
+ *
+ * <p>Buckets are spread over {@value #STRIPES} independently bounded maps by the hash of
+ * the client key, so concurrent requests rarely touch the same map and memory use has a
+ * hard ceiling. When a stripe is full, clients that have no bucket yet share the stripe's
+ * overflow bucket instead of growing the map, which keeps a flood of distinct clients from
+ * exhausting memory. Buckets that have been idle for the configured time are removed by
+ * {@link #evictIdle()}, which is meant to run in the background; the request path never
+ * scans a map.
+ */
+public class ClientRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final TokenBucket overflow = new TokenBucket(System.nanoTime());
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClientsPerStripe;
+    private final long idleNanos;
+
+    /**
+     * Constructs a {@code ClientRateLimiter}.
+     *
+     * @param permitsPerSecond the sustained number of requests each client may make per second
+     * @param burst            the number of requests a rested client may make at once
+     * @param maxClients       the maximum number of clients tracked individually
+     * @param idleMillis       how long a client's bucket must have been full before it is evicted
+     * @throws IllegalArgumentException if any argument is not positive
+     */
+    public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients, long idleMillis) {
+        if (permitsPerSecond <= 0 || burst <= 0 || maxClients <= 0 || idleMillis <= 0) {
+            throw new IllegalArgumentException("Rate limit settings must be greater than zero.");
+        }
+        this.emissionIntervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxClientsPerStripe = Math.max(1, maxClients / STRIPES);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes one permit for the given client.
+     *
+     * @param client the client key, e.g. its address
+     * @return {@code 0} if the request may proceed, otherwise the nanoseconds until it may be retried
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[(client.hashCode() & 0x7fffffff) % STRIPES];
+        TokenBucket bucket = stripe.buckets.get(client);
+        if (bucket == null) {
+            bucket = register(stripe, client, now);
+        }
+        return bucket.tryAcquire(now, emissionIntervalNanos, burstToleranceNanos);
+    }
+
+    private TokenBucket register(Stripe stripe, String client, long now) {
+        if (stripe.size.incrementAndGet() > maxClientsPerStripe) {
+            stripe.size.decrementAndGet();
+            return stripe.overflow;
+        }
+        TokenBucket bucket = new TokenBucket(now);
+        TokenBucket existing = stripe.buckets.putIfAbsent(client, bucket);
+        if (existing != null) {
+            stripe.size.decrementAndGet();
+            return existing;
+        }
+        return bucket;
+    }
+
+    /**
+     * Removes the buckets of clients that have been idle for the configured time.
+     *
+     * @return the number of buckets removed
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            for (var entry : stripe.buckets.entrySet()) {
+                if (entry.getValue().isIdle(now, idleNanos)
+                        && stripe.buckets.remove(entry.getKey(), entry.getValue())) {
+                    stripe.size.decrementAndGet();
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns the number of clients currently tracked individually.
+     *
+     * @return the number of buckets
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size.get();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ticketingsystemui.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code RateLimitFilter} class rejects requests from clients that exceed their rate
+ * limit with {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ *
+ * <p>Clients are identified by their remote address. Behind a proxy, enable
+ * {@code server.forward-headers-strategy} so that address is the real client's. The
+ * control endpoints {@code /start} and {@code /stop}, which spawn and stop threads, and the
+ * profiling endpoints, which record and ship the whole JVM's state, have a separate and much
+ * stricter limiter than the rest of the API. CORS preflight requests
+ * are never limited, so a throttled browser still sees the {@code 429} itself.
+ *
+ * <p>An allowed request costs one map lookup and one compare-and-set.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter requestLimiter;
+    private final ClientRateLimiter controlLimiter;
+
+    /**
+     * Constructs a {@code RateLimitFilter}.
+     *
+     * @param requestLimiter the limiter for ordinary API requests
+     * @param controlLimiter the limiter for the start and stop endpoints
+     */
+    public RateLimitFilter(ClientRateLimiter requestLimiter, ClientRateLimiter controlLimiter) {
+        this.requestLimiter = requestLimiter;
+        this.controlLimiter = controlLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        boolean control = uri.endsWith("/start") || uri.endsWith("/stop") || uri.contains("/api/profiling/");
+        ClientRateLimiter limiter = control ? controlLimiter : requestLimiter;
+        long waitNanos = limiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests. Retry after " + retryAfterSeconds + " seconds.");
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ticketingsystemui.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code TokenBucket} class is one client's token bucket, implemented as the generic
+ * cell rate algorithm (GCRA).
+ *
+ * <p>Instead of a token count and a refill timestamp, the bucket stores a single
+ * "theoretical arrival time": the instant at which the bucket would be full again. A
+ * request is allowed if that instant is no more than the burst tolerance in the future,
+ * and then pushes it back by one emission interval. One compare-and-set per request, no
+ * locks and no background refill.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one permit if the bucket allows it.
+     *
+     * @param nowNanos              the current {@link System#nanoTime()}
+     * @param emissionIntervalNanos the time it takes to earn one permit
+     * @param burstToleranceNanos   how far ahead of schedule a client may get, i.e. the burst size
+     *                              minus one, times the emission interval
+     * @return {@code 0} if a permit was taken, otherwise the nanoseconds until one will be available
+     */
+    long tryAcquire(long nowNanos, long emissionIntervalNanos, long burstToleranceNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long allowedAt = arrival - burstToleranceNanos;
+            if (nowNanos - allowedAt < 0) {
+                return allowedAt - nowNanos;
+            }
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the bucket has been full for at least {@code idleNanos}. Dropping
+     * such a bucket changes nothing, since a new bucket for the client starts full.
+     *
+     * @param nowNanos  the current {@link System#nanoTime()}
+     * @param idleNanos the minimum time the bucket must have been full
+     * @return {@code true} if the bucket can be evicted
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() >= idleNanos;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.ticketingsystemui.repository;
+
+import com.example.ticketingsystemui.model.InventoryLease;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Every change to a lease is a single conditional update, so nodes coordinate through
+ * the database's row locks alone: an update that affects no row lost a race and must not
+ * act on the lease.
+ */
+public interface InventoryLeaseRepository extends JpaRepository<InventoryLease, Long> {
+
+    /**
+     * Finds blocks with unsold tickets whose lease is free or has lapsed.
+     *
+     * @param now      the current epoch millisecond
+     * @param pageable the number of candidates to fetch
+     * @return the claimable blocks, lowest first
+     */
+    @Query("select l from InventoryLease l where (l.owner is null or l.expiresAt < :now)"
+            + " and l.nextTicket < l.endTicket order by l.blockId")
+    List<InventoryLease> findClaimable(@Param("now") long now, Pageable pageable);
+
+    /**
+     * Returns the number one past the highest block ever claimed.
+     *
+     * @return the next unclaimed block number
+     */
+    @Query("select coalesce(max(l.blockId) + 1, 0) from InventoryLease l")
+    long findNextBlockId();
+
+    /**
+     * Sums the ticket numbers handed out from all blocks, whether sold or still held by a node.
+     *
+     * @return the number of tickets taken from the inventory
+     */
+    @Query("select coalesce(sum(l.nextTicket - l.firstTicket), 0) from InventoryLease l")
+    long countTakenTickets();
+
+    /**
+     * Takes over a block if it is still free or lapsed and its next ticket is unchanged.
+     *
+     * @param blockId    the block to claim
+     * @param nextTicket the next ticket the caller read for the block
+     * @param owner      the claiming node
+     * @param now        the current epoch millisecond
+     * @param expiresAt  the new expiry
+     * @return {@code 1} if the block was claimed, {@code 0} otherwise
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update InventoryLease l set l.owner = :owner, l.expiresAt = :expiresAt"
+            + " where l.blockId = :blockId and l.nextTicket = :nextTicket and (l.owner is null or l.expiresAt < :now)")
+    int claim(@Param("blockId") long blockId, @Param("nextTicket") long nextTicket, @Param("owner") String owner,
+              @Param("now") long now, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Moves a held block's next ticket from {@code expected} to {@code next}, handing the
+     * tickets in between to the owner, or returning them when {@code next} is lower.
+     *
+     * @param blockId   the held block
+     * @param owner     the node holding the lease
+     * @param expected  the block's current next ticket
+     * @param next      the new next ticket
+     * @param expiresAt the new expiry
+     * @return {@code 1} if the lease was still held and moved, {@code 0} otherwise
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update InventoryLease l set l.nextTicket = :next, l.expiresAt = :expiresAt"
+            + " where l.blockId = :blockId and l.owner = :owner and l.nextTicket = :expected")
+    int advance(@Param("blockId") long blockId, @Param("owner") String owner, @Param("expected") long expected,
+                @Param("next") long next, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Extends a held lease.
+     *
+     * @param blockId   the held block
+     * @param owner     the node holding the lease
+     * @param expiresAt the new expiry
+     * @return {@code 1} if the lease was still held, {@code 0} if another node took it over
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update InventoryLease l set l.expiresAt = :expiresAt where l.blockId = :blockId and l.owner = :owner")
+    int renew(@Param("blockId") long blockId, @Param("owner") String owner, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Gives up a held lease, returning the tickets from {@code next} onwards to the block.
+     *
+     * @param blockId  the held block
+     * @param owner    the node holding the lease
+     * @param expected the block's current next ticket
+     * @param next     the first ticket the owner did not sell
+     * @return {@code 1} if the lease was still held and released, {@code 0} otherwise
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update InventoryLease l set l.owner = null, l.nextTicket = :next"
+            + " where l.blockId = :blockId and l.owner = :owner and l.nextTicket = :expected")
+    int release(@Param("blockId") long blockId, @Param("owner") String owner, @Param("expected") long expected,
+                @Param("next") long next);
+}
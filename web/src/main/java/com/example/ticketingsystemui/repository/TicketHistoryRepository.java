@@ -0,0 +1,26 @@
+package com.example.ticketingsystemui.repository;
+
+import com.example.ticketingsystemui.model.TicketHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
+
+public interface TicketHistoryRepository extends JpaRepository<TicketHistory, Long> {
+
+    /**
+     * Streams every archived ticket in id order from a database cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a lazily fetched stream of all archived tickets
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select h from TicketHistory h order by h.id")
+    Stream<TicketHistory> streamAll();
+}
@@ -0,0 +1,94 @@
+package com.example.ticketingsystemui.repository;
+
+import com.example.ticketingsystemui.model.Ticket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TicketRepository extends JpaRepository<Ticket, Long> {
+
+    /**
+     * Finds one page of tickets with the given status, e.g. a batch of sold tickets to archive.
+     *
+     * @param status   the ticket status to match
+     * @param pageable the page to fetch
+     * @return the matching tickets
+     */
+    List<Ticket> findByStatus(String status, Pageable pageable);
+
+    /**
+     * Finds the ids of one page of tickets with the given status, lowest first.
+     *
+     * @param status   the ticket status to match
+     * @param pageable the page to fetch
+     * @return the ids of the matching tickets
+     */
+    @Query("select t.id from Ticket t where t.status = :status order by t.id")
+    List<Long> findIdsByStatus(@Param("status") String status, Pageable pageable);
+
+    /**
+     * Finds the ids of one page of tickets with the given status, highest first.
+     *
+     * @param status   the ticket status to match
+     * @param pageable the page to fetch
+     * @return the ids of the matching tickets
+     */
+    @Query("select t.id from Ticket t where t.status = :status order by t.id desc")
+    List<Long> findNewestIdsByStatus(@Param("status") String status, Pageable pageable);
+
+    /**
+     * Moves a ticket from one status to another if it still has the expected status.
+     * Concurrent callers are ordered by the row lock, so only one of them changes the ticket.
+     *
+     * @param id       the ticket to update
+     * @param expected the status the ticket must still have
+     * @param status   the new status
+     * @return {@code 1} if the ticket was updated, {@code 0} if its status had changed
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :status where t.id = :id and t.status = :expected")
+    int changeStatus(@Param("id") long id, @Param("expected") String expected, @Param("status") String status);
+
+    /**
+     * Deletes a ticket if it still has the expected status.
+     *
+     * @param id       the ticket to delete
+     * @param expected the status the ticket must still have
+     * @return {@code 1} if the ticket was deleted, {@code 0} if its status had changed
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Ticket t where t.id = :id and t.status = :expected")
+    int deleteIfStatus(@Param("id") long id, @Param("expected") String expected);
+
+    /**
+     * Counts the tickets with the given status.
+     *
+     * @param status the ticket status to match
+     * @return the number of matching tickets
+     */
+    long countByStatus(String status);
+
+    /**
+     * Streams every ticket in id order from a database cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a lazily fetched stream of all tickets
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Ticket t order by t.id")
+    Stream<Ticket> streamAll();
+}
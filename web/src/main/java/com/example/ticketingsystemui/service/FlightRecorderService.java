@@ -0,0 +1,191 @@
+package com.example.ticketingsystemui.service;
+
+import com.example.ticketing.core.pool.PoolAddEvent;
+import com.example.ticketing.core.pool.PoolRetrieveEvent;
+import com.example.ticketingsystemui.profiling.TicketDatabaseEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code FlightRecorderService} class controls an on-demand JDK Flight Recorder
+ * recording of the running application.
+ *
+ * <p>
+ * At most one recording is active at a time. It uses one of the JDK's predefined settings
+ * ({@code default} or {@code profile}) and additionally enables the ticketing events
+ * ({@link TicketDatabaseEvent}, {@link PoolAddEvent}, {@link PoolRetrieveEvent}) without a
+ * duration threshold. Recordings are dumped as {@code .jfr} files into the directory given
+ * by {@code ticketing.jfr.dump-directory}, which defaults to the system temp directory.
+ * Each dump gets its own file name; the caller deletes the file once it has been handed on.
+ * </p>
+ *
+ * <p>
+ * Recording is only allowed while the service is enabled. It starts out as
+ * {@code ticketing.jfr.enabled}, read when the application starts rather than when it is
+ * built, so an AOT-processed build honours it too. It can be switched at runtime through the
+ * {@code Enabled} attribute of the {@code com.example.ticketing:type=FlightRecorder} MBean,
+ * e.g. with JConsole; JMX is only reachable locally unless remote JMX is configured, so
+ * switching it needs access to the host. Disabling the service discards a running recording.
+ * </p>
+ */
+@Service
+@ManagedResource(objectName = "com.example.ticketing:type=FlightRecorder",
+        description = "On-demand flight recordings of the ticketing application")
+public class FlightRecorderService {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path dumpDirectory;
+    private final AtomicLong dumpSequence = new AtomicLong();
+    private boolean enabled;
+    private Recording recording;
+
+    /**
+     * Constructs a {@code FlightRecorderService}.
+     *
+     * @param enabled       whether recordings may be taken until this is switched at runtime
+     * @param dumpDirectory the directory that receives dumped recordings
+     */
+    public FlightRecorderService(@Value("${ticketing.jfr.enabled:false}") boolean enabled,
+                                 @Value("${ticketing.jfr.dump-directory:${java.io.tmpdir}}") String dumpDirectory) {
+        this.enabled = enabled;
+        this.dumpDirectory = Path.of(dumpDirectory);
+    }
+
+    /**
+     * Returns whether recordings may currently be taken.
+     *
+     * @return {@code true} if the service is enabled
+     */
+    @ManagedAttribute(description = "Whether flight recordings may be started and downloaded")
+    public synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Allows or forbids recordings. Disabling closes a running recording without keeping its data.
+     *
+     * @param enabled whether recordings may be taken
+     */
+    @ManagedAttribute
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled && recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Starts a new recording.
+     *
+     * @param settings the name of a predefined JFR configuration, e.g. {@code profile}
+     * @param maxAge   how much history the recording keeps before discarding the oldest data
+     * @throws IllegalStateException if a recording is already running
+     * @throws DisabledException     if the service is disabled
+     * @throws IOException           if the configuration cannot be read
+     * @throws ParseException        if {@code settings} does not name a valid configuration
+     */
+    public synchronized void start(String settings, Duration maxAge) throws IOException, ParseException {
+        requireEnabled();
+        if (recording != null) {
+            throw new IllegalStateException("A flight recording is already running.");
+        }
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("ticketing");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge);
+        newRecording.enable(TicketDatabaseEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(PoolAddEvent.class).withThreshold(Duration.ZERO);
+        newRecording.enable(PoolRetrieveEvent.class).withThreshold(Duration.ZERO);
+        newRecording.start();
+        recording = newRecording;
+    }
+
+    /**
+     * Writes the data recorded so far to a file while the recording keeps running.
+     *
+     * @return the file the snapshot was written to
+     * @throws IllegalStateException if no recording is running
+     * @throws DisabledException     if the service is disabled
+     * @throws IOException           if the file cannot be written
+     */
+    public synchronized Path dump() throws IOException {
+        requireEnabled();
+        requireRecording();
+        Path file = nextDumpFile();
+        recording.dump(file);
+        return file;
+    }
+
+    /**
+     * Stops the running recording and writes its data to a file.
+     *
+     * @return the file the recording was written to
+     * @throws IllegalStateException if no recording is running
+     * @throws DisabledException     if the service is disabled
+     * @throws IOException           if the file cannot be written
+     */
+    public synchronized Path stop() throws IOException {
+        requireEnabled();
+        requireRecording();
+        try {
+            recording.stop();
+            Path file = nextDumpFile();
+            recording.dump(file);
+            return file;
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * Returns whether a recording is currently running.
+     *
+     * @return {@code true} if a recording is running
+     */
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new DisabledException();
+        }
+    }
+
+    private void requireRecording() {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording is running.");
+        }
+    }
+
+    private Path nextDumpFile() throws IOException {
+        Files.createDirectories(dumpDirectory);
+        // The sequence number keeps dumps taken within the same second apart
+        return dumpDirectory.resolve("ticketing-" + LocalDateTime.now().format(FILE_TIMESTAMP)
+                + "-" + ProcessHandle.current().pid() + "-" + dumpSequence.incrementAndGet() + ".jfr");
+    }
+
+    /**
+     * Thrown when a recording is requested while the service is disabled.
+     */
+    public static class DisabledException extends IllegalStateException {
+        DisabledException() {
+            super("Flight recording is disabled.");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ticketingsystemui.service;
+
+/**
+ * The {@code SalesSnapshot} record is a point-in-time view of the rolling sales
+ * statistics returned by {@code /api/tickets/stats}.
+ *
+ * @param availableTickets    tickets currently available for sale
+ * @param releasedLastSecond  tickets released during the last complete second
+ * @param soldLastSecond      tickets sold during the last complete second
+ * @param releasedLastMinute  tickets released during the last 60 complete seconds
+ * @param soldLastMinute      tickets sold during the last 60 complete seconds
+ * @param soldPerSecond10s    average tickets sold per second over the last 10 seconds
+ * @param soldPerSecond1m     average tickets sold per second over the last minute
+ * @param soldPerSecond5m     average tickets sold per second over the last 5 minutes
+ * @param releasedPerSecond1m average tickets released per second over the last minute
+ * @param secondsToSellOut    projected seconds until no tickets are left at the last minute's
+ *                            net rate, or {@code null} if inventory is not shrinking
+ */
+public record SalesSnapshot(long availableTickets,
+                            long releasedLastSecond,
+                            long soldLastSecond,
+                            long releasedLastMinute,
+                            long soldLastMinute,
+                            double soldPerSecond10s,
+                            double soldPerSecond1m,
+                            double soldPerSecond5m,
+                            double releasedPerSecond1m,
+                            Double secondsToSellOut) {
+}
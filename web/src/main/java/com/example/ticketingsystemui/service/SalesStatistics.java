@@ -0,0 +1,176 @@
+package com.example.ticketingsystemui.service;
+
+import com.example.ticketingsystemui.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code SalesStatistics} class keeps rolling per-second counts of released and
+ * sold tickets in memory, so sales rates can be reported without querying the database.
+ *
+ * <p>Counts live in a fixed ring of one-second buckets, one more than {@value #WINDOW_SECONDS}
+ * so the full window of complete seconds never shares a bucket with the current one. Each
+ * bucket is a single {@code long} that packs the second it belongs to together with its
+ * count, so recording is one compare-and-set: a writer that lands on a bucket left over
+ * from an earlier lap of the ring replaces it in the same atomic step, and no update is
+ * lost to a separate reset. Reads walk at most the requested window, so their cost does
+ * not depend on how much history exists.
+ *
+ * <p>The rates only count this node's releases and sales. The available count is seeded
+ * from this node's database and then moved by them, which is only the whole inventory on a
+ * single node. In cluster mode other nodes sell from the same inventory, so the
+ * {@code LeaseManager} replaces the count with one derived from the shared lease table on
+ * every heartbeat, and sales on other nodes show up in it one heartbeat late.
+ */
+@Component
+public class SalesStatistics {
+
+    /** The longest window, in complete seconds, that can be queried. */
+    public static final int WINDOW_SECONDS = 300;
+
+    /** The ring also holds the current, still filling second. */
+    private static final int BUCKETS = WINDOW_SECONDS + 1;
+
+    private static final int COUNT_BITS = 40;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long STAMP_MASK = (1L << (Long.SIZE - COUNT_BITS)) - 1;
+
+    private final AtomicLongArray released = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray sold = new AtomicLongArray(BUCKETS);
+    private final AtomicLong availableTickets = new AtomicLong();
+    private final TicketRepository ticketRepository;
+    private final Clock clock;
+
+    /**
+     * Constructs a {@code SalesStatistics} using the system clock.
+     *
+     * @param ticketRepository the repository used once at startup to seed the available count
+     */
+    @Autowired
+    public SalesStatistics(TicketRepository ticketRepository) {
+        this(ticketRepository, Clock.systemUTC());
+    }
+
+    SalesStatistics(TicketRepository ticketRepository, Clock clock) {
+        this.ticketRepository = ticketRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Seeds the available ticket count from the database once the application is ready.
+     * From then on the count is maintained from the release and sell paths.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedAvailableTickets() {
+        availableTickets.addAndGet(ticketRepository.countByStatus("AVAILABLE"));
+    }
+
+    /**
+     * Replaces the available ticket count with one read from a shared source.
+     *
+     * @param count the number of tickets still available across all nodes
+     */
+    public void resetAvailableTickets(long count) {
+        availableTickets.set(count);
+    }
+
+    /**
+     * Records tickets that were released for sale.
+     *
+     * @param count the number of tickets released
+     */
+    public void recordReleased(int count) {
+        if (count > 0) {
+            add(released, count);
+            availableTickets.addAndGet(count);
+        }
+    }
+
+    /**
+     * Records tickets that were sold.
+     *
+     * @param count the number of tickets sold
+     */
+    public void recordSold(int count) {
+        if (count > 0) {
+            add(sold, count);
+            availableTickets.addAndGet(-count);
+        }
+    }
+
+    /**
+     * Records released tickets that were taken off sale again without being sold.
+     *
+     * @param count the number of tickets withdrawn
+     */
+    public void recordWithdrawn(int count) {
+        if (count > 0) {
+            availableTickets.addAndGet(-count);
+        }
+    }
+
+    /**
+     * Computes rates, moving averages and a sell-out projection from the buckets.
+     * The current, still filling second is excluded so rates are not skewed low.
+     *
+     * @return the current sales statistics
+     */
+    public SalesSnapshot snapshot() {
+        long now = currentSecond();
+        long releasedLastSecond = sum(released, now, 1);
+        long soldLastSecond = sum(sold, now, 1);
+        long releasedLastMinute = sum(released, now, 60);
+        long soldLastMinute = sum(sold, now, 60);
+        double soldPerSecond10s = sum(sold, now, 10) / 10.0;
+        double soldPerSecond1m = soldLastMinute / 60.0;
+        double soldPerSecond5m = sum(sold, now, WINDOW_SECONDS) / (double) WINDOW_SECONDS;
+        double releasedPerSecond1m = releasedLastMinute / 60.0;
+
+        long available = Math.max(0, availableTickets.get());
+        double netDrainPerSecond = soldPerSecond1m - releasedPerSecond1m;
+        Double secondsToSellOut = netDrainPerSecond > 0 ? available / netDrainPerSecond : null;
+
+        return new SalesSnapshot(available, releasedLastSecond, soldLastSecond,
+                releasedLastMinute, soldLastMinute, soldPerSecond10s, soldPerSecond1m, soldPerSecond5m,
+                releasedPerSecond1m, secondsToSellOut);
+    }
+
+    private void add(AtomicLongArray buckets, int count) {
+        long second = currentSecond();
+        int index = (int) (second % BUCKETS);
+        long stamp = second & STAMP_MASK;
+        while (true) {
+            long current = buckets.get(index);
+            long updated = (current >>> COUNT_BITS) == stamp
+                    ? current + count
+                    : (stamp << COUNT_BITS) | count; // Bucket is from an earlier lap: start over
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sums the {@code seconds} complete buckets before {@code now}, skipping stale ones.
+     */
+    private static long sum(AtomicLongArray buckets, long now, int seconds) {
+        long total = 0;
+        for (long second = now - seconds; second < now; second++) {
+            long value = buckets.get((int) (second % BUCKETS));
+            if ((value >>> COUNT_BITS) == (second & STAMP_MASK)) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private long currentSecond() {
+        return clock.millis() / 1000;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.ticketingsystemui.service;
+
+import com.example.ticketingsystemui.model.Ticket;
+import com.example.ticketingsystemui.model.TicketHistory;
+import com.example.ticketingsystemui.repository.TicketHistoryRepository;
+import com.example.ticketingsystemui.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code TicketArchiveService} class keeps the live ticket table small by moving
+ * sold tickets into the append-only {@link TicketHistory} table, and answers queries
+ * against that history.
+ *
+ * <p>A background job runs every {@code ticketing.archive.interval-ms} milliseconds and
+ * moves sold tickets in batches of {@code ticketing.archive.batch-size}. Each batch is
+ * copied and deleted in its own transaction, so a failure never loses or duplicates a
+ * ticket and never holds locks on more than one batch. The sell path only writes a ticket
+ * through an update conditioned on its status still being "AVAILABLE" (see
+ * {@link TicketRepository#changeStatus(long, String, String)}), so a sold ticket is never
+ * written again and cannot be brought back after it was archived.
+ *
+ * <p>In a multi-node deployment tickets are sold from leases and never stored in the
+ * ticket table, so the job is switched off whenever {@code ticketing.cluster.enabled} is
+ * {@code true}.
+ *
+ * <p>The service is always created eagerly: {@code @Scheduled} methods are only registered
+ * when their bean is created, so under lazy initialization the job would never run.
+ */
+@Service
+@Lazy(false)
+public class TicketArchiveService {
+    private final TicketRepository ticketRepository;
+    private final TicketHistoryRepository ticketHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    /**
+     * Constructs a {@code TicketArchiveService}.
+     *
+     * @param ticketRepository        the repository for live tickets
+     * @param ticketHistoryRepository the repository for archived tickets
+     * @param transactionManager      the transaction manager used for each batch
+     * @param enabled                 whether the background job archives anything
+     * @param clusterEnabled          whether this is a multi-node deployment, which disables the job
+     * @param batchSize               the number of tickets moved per transaction
+     * @param maxBatchesPerRun        the maximum number of batches moved per run
+     */
+    @Autowired
+    public TicketArchiveService(TicketRepository ticketRepository,
+                                TicketHistoryRepository ticketHistoryRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${ticketing.archive.enabled:true}") boolean enabled,
+                                @Value("${ticketing.cluster.enabled:false}") boolean clusterEnabled,
+                                @Value("${ticketing.archive.batch-size:500}") int batchSize,
+                                @Value("${ticketing.archive.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.ticketRepository = ticketRepository;
+        this.ticketHistoryRepository = ticketHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled && !clusterEnabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Moves sold tickets to the history table until none are left or the per-run
+     * limit is reached, so a large backlog is worked off over several runs.
+     *
+     * @return the number of tickets archived
+     */
+    @Scheduled(fixedDelayString = "${ticketing.archive.interval-ms:10000}")
+    public int archiveSoldTickets() {
+        if (!enabled) {
+            return 0;
+        }
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch());
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private int archiveBatch() {
+        List<Ticket> sold = ticketRepository.findByStatus("SOLD", PageRequest.of(0, batchSize, Sort.by("id")));
+        if (sold.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        ticketHistoryRepository.saveAll(sold.stream().map(ticket -> new TicketHistory(ticket, now)).toList());
+        ticketRepository.deleteAllByIdInBatch(sold.stream().map(Ticket::getId).toList());
+        return sold.size();
+    }
+
+    /**
+     * Returns one page of archived tickets, oldest first.
+     *
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the archived tickets on that page
+     */
+    public List<TicketHistory> findHistory(int page, int size) {
+        return ticketHistoryRepository.findAll(PageRequest.of(page, size, Sort.by("id"))).getContent();
+    }
+
+    /**
+     * Looks up a single archived ticket.
+     *
+     * @param id the identifier the ticket had while it was live
+     * @return the archived ticket, if present
+     */
+    public Optional<TicketHistory> findHistoryById(long id) {
+        return ticketHistoryRepository.findById(id);
+    }
+
+    /**
+     * Counts the archived tickets.
+     *
+     * @return the number of archived tickets
+     */
+    public long countHistory() {
+        return ticketHistoryRepository.count();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ticketingsystemui.service;
+
+import com.example.ticketingsystemui.model.Ticket;
+import com.example.ticketingsystemui.model.TicketHistory;
+import com.example.ticketingsystemui.repository.TicketHistoryRepository;
+import com.example.ticketingsystemui.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * The {@code TicketExportService} class writes tickets or the sales history to an output
+ * stream as NDJSON or CSV.
+ *
+ * <p>Rows are read through a database cursor with a bounded fetch size and detached from
+ * the persistence context as soon as they are written, so an export holds only a handful
+ * of rows in memory no matter how large the table is.
+ */
+@Service
+public class TicketExportService {
+
+    /** The supported output formats. */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /** The tables that can be exported. */
+    public enum Source {
+        /** Tickets in the live table. */
+        LIVE,
+        /** Sold tickets in the history table. */
+        HISTORY
+    }
+
+    private final TicketRepository ticketRepository;
+    private final TicketHistoryRepository ticketHistoryRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a {@code TicketExportService}.
+     *
+     * @param ticketRepository        the repository for live tickets
+     * @param ticketHistoryRepository the repository for archived tickets
+     * @param entityManager           the entity manager whose persistence context is kept small
+     * @param objectMapper            the mapper used to write NDJSON rows
+     * @param transactionManager      the transaction manager holding the cursor open
+     */
+    @Autowired
+    public TicketExportService(TicketRepository ticketRepository,
+                               TicketHistoryRepository ticketHistoryRepository,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.ticketHistoryRepository = ticketHistoryRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Writes every row of the given source to {@code out}. The stream is flushed but not closed.
+     *
+     * @param source the table to export
+     * @param format the output format
+     * @param out    the stream to write to
+     * @throws UncheckedIOException if writing fails, e.g. because the client disconnected
+     */
+    public void export(Source source, Format format, OutputStream out) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try (Stream<?> rows = source == Source.LIVE ? ticketRepository.streamAll() : ticketHistoryRepository.streamAll()) {
+                if (format == Format.CSV) {
+                    writer.write(source == Source.LIVE ? "id,status\n" : "id,status,archivedAt\n");
+                }
+                Iterator<?> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object row = iterator.next();
+                    writer.write(format == Format.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                    entityManager.detach(row);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String toCsv(Object row) {
+        if (row instanceof Ticket ticket) {
+            return ticket.getId() + "," + csvField(ticket.getStatus());
+        }
+        TicketHistory entry = (TicketHistory) row;
+        return entry.getId() + "," + csvField(entry.getStatus()) + "," + entry.getArchivedAt();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.ticketingsystemui.service;
+
+import com.example.ticketingsystemui.model.Ticket;
+import com.example.ticketingsystemui.profiling.TicketDatabaseEvent;
+import com.example.ticketingsystemui.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code TicketService} class provides methods for producing, retrieving,
+ * and counting tickets in the system.
+ *
+ * <p>It interacts with the {@link TicketRepository} for database operations.
+ * Each operation is recorded as a {@link TicketDatabaseEvent} for JDK Flight Recorder.
+ */
+@Service
+public class TicketService {
+    private final TicketRepository ticketRepository;
+    private final SalesStatistics salesStatistics;
+
+    /**
+     * Constructs a {@code TicketService} with a reference to the ticket repository.
+     *
+     * @param ticketRepository the repository for ticket data
+     * @param salesStatistics  the in-memory statistics updated on every release and sale
+     */
+    @Autowired
+    public TicketService(TicketRepository ticketRepository, SalesStatistics salesStatistics) {
+        this.ticketRepository = ticketRepository;
+        this.salesStatistics = salesStatistics;
+    }
+
+
+    /**
+     * Produces a specified number of tickets and marks them as "AVAILABLE".
+     *
+     * @param count the number of tickets to produce
+     */
+    public void produceTickets(int count) {
+        TicketDatabaseEvent event = new TicketDatabaseEvent();
+        event.begin();
+        for (int i = 0; i < count; i++) {
+            ticketRepository.save(new Ticket("AVAILABLE"));
+        }
+        salesStatistics.recordReleased(count);
+        commit(event, "produceTickets", count, count);
+    }
+
+
+    /**
+     * Withdraws up to {@code count} available tickets from sale, newest first, e.g. a batch
+     * that was saved but could not be added to the inventory.
+     *
+     * @param count the number of tickets to withdraw
+     * @return the number of tickets withdrawn
+     */
+    public int withdrawTickets(int count) {
+        TicketDatabaseEvent event = new TicketDatabaseEvent();
+        event.begin();
+        int withdrawn = 0;
+        while (withdrawn < count) {
+            List<Long> candidates = ticketRepository.findNewestIdsByStatus("AVAILABLE",
+                    PageRequest.of(0, count - withdrawn));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (Long id : candidates) {
+                withdrawn += ticketRepository.deleteIfStatus(id, "AVAILABLE");
+            }
+        }
+        salesStatistics.recordWithdrawn(withdrawn);
+        commit(event, "withdrawTickets", count, withdrawn);
+        return withdrawn;
+    }
+
+    /**
+     * Retrieves a specified number of available tickets and marks them as "SOLD".
+     *
+     * <p>Each ticket is sold with a conditional update that only matches while it is still
+     * "AVAILABLE", so two concurrent callers never sell the same ticket, and a ticket that
+     * is already sold, and possibly being archived, is never written again.
+     *
+     * @param count the number of tickets to retrieve
+     * @return a list of tickets retrieved
+     */
+    public List<Ticket> retrieveTickets(int count) {
+        TicketDatabaseEvent event = new TicketDatabaseEvent();
+        event.begin();
+        List<Ticket> tickets = new ArrayList<>(Math.max(0, count));
+        while (tickets.size() < count) {
+            List<Long> candidates = ticketRepository.findIdsByStatus("AVAILABLE",
+                    PageRequest.of(0, count - tickets.size()));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            for (Long id : candidates) {
+                if (ticketRepository.changeStatus(id, "AVAILABLE", "SOLD") == 1) {
+                    tickets.add(new Ticket(id, "SOLD"));
+                }
+            }
+        }
+        salesStatistics.recordSold(tickets.size());
+        commit(event, "retrieveTickets", count, tickets.size());
+        return tickets;
+    }
+
+    /**
+     * Counts the number of available tickets in the system with a single query on the
+     * status index, so the live rows are never loaded to count them.
+     *
+     * @return the number of available tickets
+     */
+    public long countAvailableTickets() {
+        TicketDatabaseEvent event = new TicketDatabaseEvent();
+        event.begin();
+        long available = ticketRepository.countByStatus("AVAILABLE");
+        commit(event, "countAvailableTickets", 0, available);
+        return available;
+    }
+
+    private static void commit(TicketDatabaseEvent event, String operation, int requestedTickets, long affectedRows) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.requestedTickets = requestedTickets;
+            event.affectedRows = affectedRows;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.ticketingsystemui.cluster;
+
+import com.example.ticketingsystemui.model.Ticket;
+import com.example.ticketingsystemui.repository.InventoryLeaseRepository;
+import com.example.ticketingsystemui.service.SalesStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The application's own node only heartbeats at startup, so it cannot reset the statistics mid-test
+@SpringBootTest(properties = {"ticketing.cluster.enabled=true", "ticketing.cluster.heartbeat-ms=3600000"})
+class LeaseManagerTest {
+
+    private static final long TOTAL_TICKETS = 5_000;
+
+    @Autowired
+    private InventoryLeaseRepository leaseRepository;
+
+    @Autowired
+    private SalesStatistics salesStatistics;
+
+    @BeforeEach
+    void clearLeases() {
+        leaseRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentNodesSellEveryTicketExactlyOnce() throws Exception {
+        List<LeaseManager> nodes = List.of(node("a", 15_000), node("b", 15_000), node("c", 15_000));
+        Set<Long> sold = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (LeaseManager node : nodes) {
+            for (int i = 0; i < 2; i++) {
+                threads.add(new Thread(() -> {
+                    List<Ticket> tickets;
+                    while (!(tickets = node.sellTickets(7)).isEmpty()) {
+                        for (Ticket ticket : tickets) {
+                            if (!sold.add(ticket.getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    }
+                }));
+            }
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(TOTAL_TICKETS, sold.size());
+        assertTrue(sold.stream().allMatch(id -> id >= 0 && id < TOTAL_TICKETS));
+        assertEquals(TOTAL_TICKETS, nodes.stream().mapToLong(node -> node.status().ticketsSold()).sum());
+        assertEquals(TOTAL_TICKETS, leaseRepository.countTakenTickets());
+    }
+
+    @Test
+    void releasedTicketsAreSoldByTheNextNode() {
+        LeaseManager first = node("a", 15_000);
+        assertEquals(5, first.sellTickets(5).size());
+        first.release();
+
+        LeaseManager second = node("b", 15_000);
+        assertEquals(5L, second.sellTickets(1).get(0).getId());
+        long sold = 6;
+        List<Ticket> tickets;
+        while (!(tickets = second.sellTickets(100)).isEmpty()) {
+            sold += tickets.size();
+        }
+        assertEquals(TOTAL_TICKETS, sold);
+    }
+
+    @Test
+    void lapsedLeaseIsTakenOverAndItsOwnerMovesOn() throws Exception {
+        LeaseManager stalled = node("a", 1);
+        assertEquals(0L, stalled.sellTickets(1).get(0).getId());
+        Thread.sleep(20);
+
+        // The stalled node's reservation of ten tickets is lost, the rest of its block is not
+        LeaseManager other = node("b", 15_000);
+        assertEquals(10L, other.sellTickets(1).get(0).getId());
+
+        stalled.heartbeat();
+        assertEquals(-1, stalled.status().blockId());
+        assertEquals(1L, stalled.sellTickets(1).get(0).getId());
+        stalled.sellTickets(8);
+        assertEquals(1_000L, stalled.sellTickets(1).get(0).getId());
+    }
+
+    @Test
+    void heartbeatResetsTheAvailableCountToTheWholeClusterView() {
+        LeaseManager first = node("a", 15_000);
+        LeaseManager second = node("b", 15_000);
+        first.sellTickets(5);
+        second.sellTickets(1);
+
+        // Twenty tickets are taken, and five of the first node's reservation are still unsold
+        first.heartbeat();
+        assertEquals(TOTAL_TICKETS - 20 + 5, salesStatistics.snapshot().availableTickets());
+    }
+
+    private LeaseManager node(String nodeId, long leaseMillis) {
+        return new LeaseManager(leaseRepository, salesStatistics, nodeId, TOTAL_TICKETS, 1_000, 10, leaseMillis);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ticketingsystemui.controller;
+
+import com.example.ticketingsystemui.service.FlightRecorderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tests turn JMX off by default; this one needs the MBean to be exported
+@SpringBootTest(properties = {"spring.jmx.enabled=true", "ticketing.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+class ProfilingControllerTest {
+
+    private static final String FLIGHT_RECORDER = "com.example.ticketing:type=FlightRecorder";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    @AfterEach
+    void disable() {
+        flightRecorderService.setEnabled(false);
+    }
+
+    @Test
+    void endpointsAreHiddenWhileDisabled() throws Exception {
+        mockMvc.perform(get("/api/profiling/jfr/status")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/profiling/jfr/start")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/profiling/jfr/dump")).andExpect(status().isNotFound());
+        assertFalse(flightRecorderService.isRecording());
+    }
+
+    @Test
+    void recordingIsSwitchedOnAndOffThroughJmxWithoutARestart() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(FLIGHT_RECORDER);
+        assertEquals(false, server.getAttribute(name, "Enabled"));
+
+        server.setAttribute(name, new Attribute("Enabled", true));
+        mockMvc.perform(get("/api/profiling/jfr/status")).andExpect(content().string("false"));
+        mockMvc.perform(post("/api/profiling/jfr/start").param("settings", "default")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/profiling/jfr/status")).andExpect(content().string("true"));
+
+        // Disabling discards the running recording
+        server.setAttribute(name, new Attribute("Enabled", false));
+        assertFalse(flightRecorderService.isRecording());
+        mockMvc.perform(get("/api/profiling/jfr/status")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.ticketingsystemui.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void retriesGetTheFirstResult() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000, result -> 0);
+        assertEquals(1, (int) cache.execute(CLIENT, "key", 1, runs::incrementAndGet));
+        assertEquals(1, (int) cache.execute(CLIENT, "key", 1, runs::incrementAndGet));
+        assertEquals(1, runs.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void keyReusedWithOtherParametersIsRejected() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000, result -> 0);
+        cache.execute(CLIENT, "key", 1, runs::incrementAndGet);
+        assertThrows(IdempotencyCache.KeyReusedException.class,
+                () -> cache.execute(CLIENT, "key", 2, runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void clientsWithTheSameKeyDoNotShareResults() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000, result -> 0);
+        assertEquals(1, (int) cache.execute(CLIENT, "key", 1, runs::incrementAndGet));
+        assertEquals(2, (int) cache.execute("10.0.0.2", "key", 2, runs::incrementAndGet));
+    }
+
+    @Test
+    void failedActionRunsAgainOnRetry() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000, result -> 0);
+        assertThrows(IllegalStateException.class, () -> cache.execute(CLIENT, "key", 1, () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertEquals(2, (int) cache.execute(CLIENT, "key", 1, runs::incrementAndGet));
+    }
+
+    @Test
+    void expiredResultRunsAgain() throws Exception {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 20, result -> 0);
+        cache.execute(CLIENT, "key", 1, runs::incrementAndGet);
+        Thread.sleep(50);
+        assertEquals(2, (int) cache.execute(CLIENT, "key", 1, runs::incrementAndGet));
+        assertEquals(1, cache.stats().expirations());
+    }
+
+    @Test
+    void concurrentRetriesRunTheActionOnce() throws Exception {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(100, 60_000, result -> 0);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> retries = new ArrayList<>();
+        AtomicInteger results = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            retries.add(new Thread(() -> results.addAndGet(cache.execute(CLIENT, "key", 1, () -> {
+                await(release);
+                return runs.incrementAndGet();
+            }))));
+        }
+        retries.forEach(Thread::start);
+        Thread.sleep(50);
+        release.countDown();
+        for (Thread retry : retries) {
+            retry.join();
+        }
+        assertEquals(1, runs.get());
+        assertEquals(8, results.get());
+    }
+
+    @Test
+    void runningRequestIsNotEvictedByNewKeys() throws Exception {
+        // One entry per segment, so every other key crowds the running one
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(16, 60_000, result -> 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> cache.execute(CLIENT, "slow", 1, () -> {
+            started.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        }));
+        first.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.execute(CLIENT, "other-" + i, 1, () -> 0);
+        }
+        AtomicInteger retried = new AtomicInteger();
+        Thread retry = new Thread(() -> retried.set(cache.execute(CLIENT, "slow", 1, runs::incrementAndGet)));
+        retry.start();
+        Thread.sleep(50);
+        release.countDown();
+        first.join();
+        retry.join();
+
+        assertEquals(1, runs.get());
+        assertEquals(1, retried.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
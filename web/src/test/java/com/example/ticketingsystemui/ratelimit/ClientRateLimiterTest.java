@@ -0,0 +1,101 @@
+package com.example.ticketingsystemui.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void bucketAllowsABurstAndThenTheSteadyRate() {
+        long interval = SECOND / 10;
+        TokenBucket bucket = new TokenBucket(0);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(0, interval, 4 * interval));
+        }
+        assertEquals(interval, bucket.tryAcquire(0, interval, 4 * interval));
+        assertEquals(0, bucket.tryAcquire(interval, interval, 4 * interval));
+        assertTrue(bucket.tryAcquire(interval, interval, 4 * interval) > 0);
+    }
+
+    @Test
+    void bucketIsIdleOnceItIsFullAgain() {
+        long interval = SECOND / 10;
+        TokenBucket bucket = new TokenBucket(0);
+        bucket.tryAcquire(0, interval, 0);
+        assertFalse(bucket.isIdle(interval, SECOND));
+        assertTrue(bucket.isIdle(interval + SECOND, SECOND));
+    }
+
+    @Test
+    void clientsHaveTheirOwnBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 2, 1_000, 60_000);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void clientsBeyondTheLimitShareAnOverflowBucket() {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 1, 16, 60_000);
+        int allowed = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (limiter.tryAcquire("client-" + i) == 0) {
+                allowed++;
+            }
+        }
+        // One bucket per stripe plus one overflow bucket per stripe
+        assertTrue(limiter.size() <= 16);
+        assertTrue(allowed <= 32, "allowed " + allowed);
+    }
+
+    @Test
+    void idleBucketsAreEvicted() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(1_000, 1, 1_000, 1);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        Thread.sleep(20);
+        assertEquals(2, limiter.evictIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(0.001, 10, 1_000, 60_000);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int request = 0; request < 1_000; request++) {
+                    if (limiter.tryAcquire("client") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(10, allowed.get());
+        assertEquals(1, limiter.size());
+    }
+}
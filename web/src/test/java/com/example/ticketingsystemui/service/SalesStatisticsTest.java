@@ -0,0 +1,132 @@
+package com.example.ticketingsystemui.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesStatisticsTest {
+
+    private final ManualClock clock = new ManualClock();
+    private final SalesStatistics statistics = new SalesStatistics(null, clock);
+
+    @Test
+    void countsCompleteSecondsAndMinutes() {
+        statistics.recordReleased(5);
+        statistics.recordSold(3);
+        // The current second is still filling and not reported yet
+        assertEquals(0, statistics.snapshot().soldLastSecond());
+
+        clock.advanceSeconds(1);
+        statistics.recordSold(2);
+        SalesSnapshot snapshot = statistics.snapshot();
+        assertEquals(5, snapshot.releasedLastSecond());
+        assertEquals(3, snapshot.soldLastSecond());
+
+        clock.advanceSeconds(1);
+        snapshot = statistics.snapshot();
+        assertEquals(0, snapshot.releasedLastSecond());
+        assertEquals(2, snapshot.soldLastSecond());
+        assertEquals(5, snapshot.releasedLastMinute());
+        assertEquals(5, snapshot.soldLastMinute());
+        assertEquals(0, snapshot.availableTickets());
+
+        clock.advanceSeconds(59);
+        snapshot = statistics.snapshot();
+        assertEquals(0, snapshot.releasedLastMinute());
+        assertEquals(2, snapshot.soldLastMinute());
+    }
+
+    @Test
+    void fiveMinuteAverageSpansTheWholeRingAfterItWraps() {
+        // 400 seconds lap the 301 buckets; the window must hold exactly the last 300
+        for (int second = 0; second < 400; second++) {
+            statistics.recordSold(second < 100 ? 10 : 1);
+            clock.advanceSeconds(1);
+        }
+        SalesSnapshot snapshot = statistics.snapshot();
+        assertEquals(1.0, snapshot.soldPerSecond5m());
+        assertEquals(60, snapshot.soldLastMinute());
+        assertEquals(1.0, snapshot.soldPerSecond10s());
+    }
+
+    @Test
+    void bucketsLeftFromAnEarlierLapAreNotCounted() {
+        statistics.recordSold(10);
+        // Idle for exactly one lap, so the next sale lands in the same bucket
+        clock.advanceSeconds(301);
+        statistics.recordSold(1);
+        clock.advanceSeconds(1);
+        SalesSnapshot snapshot = statistics.snapshot();
+        assertEquals(1, snapshot.soldLastSecond());
+        assertEquals(1, snapshot.soldLastMinute());
+        assertEquals(1 / 300.0, snapshot.soldPerSecond5m());
+
+        // A gap with no writes at all leaves every bucket stale
+        clock.advanceSeconds(1_000);
+        snapshot = statistics.snapshot();
+        assertEquals(0, snapshot.soldLastMinute());
+        assertEquals(0.0, snapshot.soldPerSecond5m());
+    }
+
+    @Test
+    void sellOutIsOnlyProjectedWhileInventoryShrinks() {
+        statistics.recordReleased(100);
+        clock.advanceSeconds(61);
+        assertNull(statistics.snapshot().secondsToSellOut());
+
+        for (int second = 0; second < 60; second++) {
+            statistics.recordSold(1);
+            clock.advanceSeconds(1);
+        }
+        SalesSnapshot snapshot = statistics.snapshot();
+        assertEquals(40, snapshot.availableTickets());
+        assertEquals(40.0, snapshot.secondsToSellOut());
+
+        // Releases keeping pace with sales stop the projection
+        for (int second = 0; second < 60; second++) {
+            statistics.recordReleased(1);
+            statistics.recordSold(1);
+            clock.advanceSeconds(1);
+        }
+        assertNull(statistics.snapshot().secondsToSellOut());
+
+        clock.advanceSeconds(60);
+        assertNull(statistics.snapshot().secondsToSellOut());
+    }
+
+    @Test
+    void resetReplacesTheAvailableCount() {
+        statistics.recordReleased(10);
+        statistics.resetAvailableTickets(500);
+        statistics.recordSold(3);
+        assertEquals(497, statistics.snapshot().availableTickets());
+    }
+
+    private static final class ManualClock extends Clock {
+        private Instant now = Instant.ofEpochSecond(1_700_000_000L);
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}